@@ -0,0 +1,44 @@
+package env;
+
+import network.NetworkPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Environment resolution as done by every BaseTest constructor, plus the
+ * network policy built from it for every new driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dbrowser=firefox", "-DblockedUrls=@ads,*.doubleclick.net/*"})
+public class EnvironmentsBenchmark {
+
+    private final EnvConfig testEnv = Environments.load();
+
+    @Benchmark
+    public EnvConfig load() {
+        return Environments.load();
+    }
+
+    @Benchmark
+    public NetworkPolicy networkPolicy() {
+        return NetworkPolicy.forEnvironment(testEnv);
+    }
+
+    @Benchmark
+    public boolean policyMatch() {
+        return NetworkPolicy.forEnvironment(testEnv).isBlocked("https://securepubads.g.doubleclick.net/tag/js/gpt.js");
+    }
+}
@@ -0,0 +1,77 @@
+package listeners;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Browser console report formatting for quiet and chatty pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogReportWriterBenchmark {
+
+    private static final Level[] LEVELS = {Level.INFO, Level.INFO, Level.WARNING, Level.SEVERE};
+
+    @Param({"100", "10000", "50000"})
+    private int entries;
+
+    private List<LogEntry> logEntries;
+    private Path file;
+
+    @Setup
+    public void createEntries() throws IOException {
+        logEntries = new ArrayList<>(entries);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < entries; i++) {
+            logEntries.add(new LogEntry(LEVELS[i % LEVELS.length], now + i,
+                    "https://open.spotify.com/static/app.js 1:" + i + " Uncaught (in promise) request " + i));
+        }
+        file = Files.createTempFile("log-bench-", ".log");
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Formatting cost alone.
+     */
+    @Benchmark
+    public LogReportWriter.Counts formatOnly() throws IOException {
+        return LogReportWriter.writeBrowserLog(Writer.nullWriter(), "MusicPlayTest.playAzul", logEntries);
+    }
+
+    /**
+     * Formatting plus the buffered file write the listener does.
+     */
+    @Benchmark
+    public void formatToFile(Blackhole blackhole) throws IOException {
+        blackhole.consume(LogReportWriter.writeBrowserLog(file, "MusicPlayTest.playAzul", logEntries));
+    }
+}
@@ -0,0 +1,94 @@
+package locators;
+
+import env.EnvConfig;
+import env.Environments;
+import fake.FakeNode;
+import fake.FakeSite;
+import fake.FakeWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pagefactory.PageDescriptor;
+import pages.LoginPage;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework overhead around driver calls, measured against a zero-latency
+ * {@link FakeWebDriver} so no browser latency hides it: locator resolution and page object setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverFacingBenchmark {
+
+    private static final SmartLocator SIGN_IN = SmartLocator.named("benchmark.signIn")
+            .byTestId("login-button")
+            .byAriaLabel("Log in")
+            .byText("Log in");
+
+    private static final SmartLocator HEALED = SmartLocator.named("benchmark.healed")
+            .byTestId("renamed-button")
+            .byAriaLabel("Play");
+
+    private WebDriver driver;
+    private LocatorRegistry registry;
+    private WebDriverWait wait;
+
+    @Setup
+    public void setUp() {
+        EnvConfig envConfig = Environments.load();
+        registry = LocatorRegistry.forEnvironment(envConfig);
+        FakeSite site = FakeSite.builder()
+                .page(".*", "Benchmark",
+                        FakeNode.element("button").attr("data-testid", "login-button").text("Log in"),
+                        FakeNode.element("button").attr("aria-label", "Play"))
+                .build();
+        driver = new FakeWebDriver(site);
+        driver.get("https://open.spotify.com/");
+        wait = new WebDriverWait(driver, Duration.ofSeconds(1));
+    }
+
+    @Benchmark
+    public WebElement smartLocatorFirstCandidate() {
+        return registry.findClickable(driver, SIGN_IN, Duration.ofSeconds(1));
+    }
+
+    /**
+     * First candidate never matches; the remembered fallback is tried first.
+     */
+    @Benchmark
+    public WebElement smartLocatorRememberedFallback() {
+        return registry.findClickable(driver, HEALED, Duration.ofSeconds(1));
+    }
+
+    @Benchmark
+    public By cachedCssLocator() {
+        return Locators.css("button[data-testid='login-button']");
+    }
+
+    @Benchmark
+    public Object pageDescriptorNewInstance() {
+        return PageDescriptor.of(LoginPage.class).newInstance(driver);
+    }
+
+    @Benchmark
+    public Object loginPageConstructor() {
+        return new LoginPage(driver, wait);
+    }
+}
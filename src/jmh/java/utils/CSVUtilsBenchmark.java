@@ -0,0 +1,74 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV data provider loading at different file sizes, shaped like login.csv.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVUtilsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private Path csv;
+    private String[] untrimmedRow;
+
+    @Setup(Level.Trial)
+    public void writeCsv() throws IOException {
+        csv = Files.createTempFile("csv-bench-", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write("username,password,expected\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(" user" + i + "@example.com , secret" + i + " ,success\n");
+            }
+        }
+        untrimmedRow = new String[]{" user@example.com ", null, "  success", "plain"};
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCsv() throws IOException {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public List<String[]> readCsv() {
+        return CSVUtils.readCsv(csv, true);
+    }
+
+    @Benchmark
+    public Object[][] readCsvToDataProvider() {
+        return CSVUtils.toDataProvider(CSVUtils.readCsv(csv, true));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String[] trimRow() {
+        return CSVUtils.trimRow(untrimmedRow);
+    }
+}
@@ -1,131 +1,277 @@
 package base;
 
+import diagnostics.BrowserEvents;
+import diagnostics.PlaybackSampler;
+import diagnostics.PlaybackSampler.PlaybackStats;
 import env.EnvConfig;
-import env.ProdEnv;
-import env.PreProdEnv;
-import env.TestEnv;
+import env.Environments;
+import io.qameta.allure.Allure;
+import load.LatencyBenchmark;
+import locators.LocatorRegistry;
+import network.HttpMode;
+import network.NetworkInterception;
+import network.NetworkPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pagefactory.PageRegistry;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
-import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.edge.EdgeOptions;
 
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BaseTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BaseTest.class);
+
+    // audio that has to actually play (not just wall time) in verifyPlayback
+    private static final Duration PLAY_FOR = Duration.ofSeconds(Long.getLong("playbackSeconds", 30));
+    private static final Duration PLAYBACK_TIMEOUT = Duration.ofSeconds(Long.getLong("playbackTimeoutSeconds", 90));
+    private static final LatencyBenchmark PLAYBACK = LatencyBenchmark.named("playback");
+    private static final long RETRY_RESET_TIMEOUT_SECONDS = 10;
+
     protected EnvConfig envConfig;
     protected WebDriver driver;
     protected String browserName;
+    private NetworkInterception networkInterception;
+    private DriverSession session;
+    private volatile boolean retryPending;
+    private boolean keptForRetry;
 
     public BaseTest() {
         initEnvironment();
     }
 
     protected void initEnvironment() {
-        String envName = System.getProperty("env", "test").trim().toLowerCase(Locale.ROOT);
-        switch (envName) {
-            case "prod":
-            case "production":
-                envConfig = new ProdEnv();
-                break;
-            case "preprod":
-            case "pre-prod":
-            case "staging":
-                envConfig = new PreProdEnv();
-                break;
-            case "test":
-            default:
-                envConfig = new TestEnv();
-                break;
-        }
-
-        // allow overrides from system properties
-        envConfig.applySystemOverrides();
+        envConfig = Environments.load();
     }
 
+    /**
+     * Applies the {@code <test>} parameters to this instance only, so blocks running
+     * side by side (see {@code listeners.MatrixListener}) don't change each other's settings.
+     */
     @BeforeClass(alwaysRun = true)
-    @Parameters({"browser", "headless"})
-    public void setUpBrowser(@Optional String browser, @Optional String headless) {
+    @Parameters({"browser", "headless", "env"})
+    public void setUpBrowser(@Optional String browser, @Optional String headless, @Optional String env) {
+        if (env != null && !env.isEmpty()) {
+            envConfig = Environments.load(env);
+            LOG.info("🔧 Environment parameter from XML: {}", env);
+        }
+
         if (browser != null && !browser.isEmpty()) {
             this.browserName = browser;
-            System.out.println("🔧 Browser parameter from XML: " + browser);
+            LOG.info("🔧 Browser parameter from XML: {}", browser);
         }
 
         if (headless != null && !headless.isEmpty()) {
-            System.setProperty("headless", headless);
-            System.out.println("🔧 Headless parameter from XML: " + headless);
+            envConfig.setHeadless(Boolean.parseBoolean(headless));
+            LOG.info("🔧 Headless parameter from XML: {}", headless);
         }
     }
 
     /**
      * Initializes WebDriver according to the envConfig.browser value.
-     * Supported browser values: chrome, firefox, edge
+     * Supported browser values: chrome, firefox, edge, fake
      */
     public void initDriver() {
-        String browser = (browserName != null) ? browserName : envConfig.getBrowser();
-        browser = browser.toLowerCase(Locale.ROOT).trim();
-
-        System.out.println("🚀 Initializing browser: " + browser);
-
-        switch (browser) {
-            case "firefox":
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (envConfig.isHeadless()) {
-                    firefoxOptions.addArguments("--headless");
-                }
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "edge":
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (envConfig.isHeadless()) {
-                    edgeOptions.addArguments("--headless=new");
-                }
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            case "chrome":
-            default:
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (envConfig.isHeadless()) {
-                    chromeOptions.addArguments("--headless=new");
-                }
-                driver = new ChromeDriver(chromeOptions);
-                break;
+        String browser = getBrowserName().toLowerCase(Locale.ROOT).trim();
+
+        if (keptForRetry) {
+            keptForRetry = false;
+            session.keepAlive();
+            LOG.info("♻️  Reusing the {} session for the retry", browser);
+            return;
         }
 
+        LOG.info("🚀 Initializing browser: {}", browser);
+
+        DriverFactory factory = new DriverFactory(envConfig);
+        PerformanceProfile profile = factory.getProfile();
+        LOG.info("⚙️  Performance profile: {}", profile.name().toLowerCase(Locale.ROOT));
+
+        // a session pre-spawned by DriverSpawner when one is waiting, otherwise started here
+        closeNetworkInterception();
+        closeSession();
+        session = DriverSpawner.shared().acquire(factory, browser);
+        driver = session.getDriver();
+
+        // block ads/analytics (and anything else the environment denies), record or replay, before the first page load
+        networkInterception = NetworkInterception.install(driver, NetworkPolicy.forEnvironment(envConfig),
+                HttpMode.current(), getClass().getSimpleName());
+
         // default timeouts and window settings (tweak if needed)
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(envConfig.getImplicitWaitSeconds()));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(envConfig.getPageLoadTimeoutSeconds()));
+        factory.configure(driver);
     }
 
     public WebDriver getDriver() {
         return driver;
     }
 
+    /**
+     * Browser events streamed from the current session, or null if the browser doesn't support it.
+     */
+    public BrowserEvents getBrowserEvents() {
+        return session != null ? session.getEvents() : null;
+    }
+
+    /**
+     * Browser from the suite parameter, falling back to the environment's default.
+     */
+    public String getBrowserName() {
+        return (browserName != null) ? browserName : envConfig.getBrowser();
+    }
+
     public EnvConfig getEnvConfig() {
         return envConfig;
     }
 
+    /**
+     * Self-healing locator registry shared by all tests running against this environment.
+     */
+    public LocatorRegistry getLocatorRegistry() {
+        return LocatorRegistry.forEnvironment(envConfig);
+    }
+
+    /**
+     * Page object bound to this thread's current driver, built from a cached page descriptor.
+     */
+    public <T> T page(Class<T> pageClass) {
+        return PageRegistry.get(pageClass, driver);
+    }
+
     public void openBaseUrl() {
         driver.get(envConfig.getBaseUrl());
     }
 
+    /**
+     * Returns once {@code -DplaybackSeconds} (default 30) of audio have played, failing the
+     * test if that takes longer than {@code -DplaybackTimeoutSeconds} (default 90). Time to
+     * first play and stall time go to {@code target/benchmarks/playback.txt}.
+     *
+     * @param sampler armed before Play was clicked; null (driver runs no page scripts) skips the check
+     */
+    public void verifyPlayback(PlaybackSampler sampler) {
+        if (sampler == null) {
+            LOG.warn("⚠️  {} cannot report media state; playback not measured", getBrowserName());
+            return;
+        }
+        PlaybackStats playback = sampler.awaitPlayed(PLAY_FOR, PLAYBACK_TIMEOUT);
+        LOG.info("🎵 Playback on {}: {}", getBrowserName(), playback);
+        Allure.addAttachment("Playback", "text/plain", playback.toString(), ".txt");
+
+        String series = envConfig.getName() + "/" + getBrowserName() + (envConfig.isHeadless() ? " headless" : "");
+        if (playback.getTimeToFirstPlayMillis() == null) {
+            PLAYBACK.recordTimeout(series, "firstPlay");
+        } else {
+            PLAYBACK.record(series, "firstPlay", Math.round(playback.getTimeToFirstPlayMillis()), TimeUnit.MILLISECONDS);
+            if (!playback.isFromProgressLabel()) {
+                PLAYBACK.record(series, "stallTime", Math.round(playback.getStallMillis()), TimeUnit.MILLISECONDS);
+            }
+        }
+        PLAYBACK.write(Paths.get("target", "benchmarks", "playback.txt"));
+
+        Assert.assertNotNull(playback.getTimeToFirstPlayMillis(),
+                "Nothing started playing within " + PLAYBACK_TIMEOUT.getSeconds() + " s");
+        Assert.assertTrue(playback.getPlayedSeconds() >= PLAY_FOR.getSeconds(),
+                "Only " + playback + " within " + PLAYBACK_TIMEOUT.getSeconds() + " s");
+    }
+
+    /**
+     * Quits the current browser; safe to call again from per-method teardowns.
+     * A driver that fails to quit has its process tree killed by the session; one held
+     * for a pending retry (see {@link #setRetryPending}) stays open.
+     */
     @AfterClass(alwaysRun = true)
     public void quitDriver() {
-        if (driver != null) {
+        if (retryPending && session != null && resetForRetry()) {
+            // the retry's initDriver() picks it up again
+            retryPending = false;
+            keptForRetry = true;
+            return;
+        }
+        keptForRetry = false;
+        closeNetworkInterception();
+        if (session != null) {
+            closeSession();
+            LOG.info("✅ Browser closed successfully");
+        } else if (driver != null) {
             try {
                 driver.quit();
-                System.out.println("✅ Browser closed successfully");
-            } catch (Exception ignored) {}
+                LOG.info("✅ Browser closed successfully");
+            } catch (Exception e) {
+                LOG.warn("⚠️  Browser quit failed: {}", e.getMessage());
+            }
+        }
+        driver = null;
+        PageRegistry.release();
+    }
+
+    /**
+     * Marks a failed test as about to be retried, so the next {@link #quitDriver()} keeps a
+     * session that still answers for the retry's {@link #initDriver()}. Set by
+     * {@code listeners.RetryAnalyzer}; cleared again when the retry starts.
+     */
+    public void setRetryPending(boolean retryPending) {
+        this.retryPending = retryPending;
+    }
+
+    /**
+     * Logs the browser out of what the failed attempt left behind (see
+     * {@link DriverSession#clearBrowserState}) on a thread of its own, which is interrupted
+     * if the browser does not manage that within a few seconds; false in that case.
+     */
+    private boolean resetForRetry() {
+        DriverSession current = session;
+        List<String> origins = envConfig.getSessionOrigins();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread reset = new Thread(() -> {
+            try {
+                current.clearBrowserState(origins);
+                current.getDriver().get("about:blank");
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "retry-reset-" + Thread.currentThread().getName());
+        reset.setDaemon(true);
+        reset.start();
+        try {
+            reset.join(TimeUnit.SECONDS.toMillis(RETRY_RESET_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (reset.isAlive()) {
+            // aborts the pending WebDriver call; the session is quit (or killed) next
+            reset.interrupt();
+            LOG.warn("⚠️  Session not reusable for the retry, starting a new one: no answer within {} s",
+                    RETRY_RESET_TIMEOUT_SECONDS);
+            return false;
+        }
+        if (failure.get() != null) {
+            LOG.warn("⚠️  Session not reusable for the retry, starting a new one: {}", failure.get().getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void closeSession() {
+        if (session != null) {
+            session.quit();
+            session = null;
+        }
+    }
+
+    private void closeNetworkInterception() {
+        if (networkInterception != null) {
+            networkInterception.close();
+            networkInterception = null;
         }
     }
 
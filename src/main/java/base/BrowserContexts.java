@@ -0,0 +1,282 @@
+package base;
+
+import metrics.SuiteMetrics;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Runs many sessions in one browser process. With {@code -DcontextsPerBrowser=N}
+ * (default 0: off) every Chrome or Edge session gets its own CDP browser context
+ * (separate cookies, storage and cache, like an incognito window) in a shared browser,
+ * driven by its own chromedriver session attached to that browser and switched to the
+ * context's window; another browser is started once N contexts are open.
+ *
+ * Screenshots, CDP events and network interception follow the session's window, so
+ * they stay within its context. Firefox keeps a browser per session: geckodriver can
+ * attach only one session to a browser.
+ */
+public final class BrowserContexts {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserContexts.class);
+    private static final BrowserContexts SHARED = new BrowserContexts(Integer.getInteger("contextsPerBrowser", 0));
+
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Function<JsonInput, Map<String, Object>> AS_MAP = input -> input.read(Json.MAP_TYPE);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::shutdown, "browser-contexts-stop"));
+    }
+
+    private final int perBrowser;
+    private final Map<String, List<Host>> hosts = new HashMap<>();
+
+    private BrowserContexts(int perBrowser) {
+        this.perBrowser = Math.max(0, perBrowser);
+        SuiteMetrics.shared().gauge("framework_shared_browsers",
+                "Browser processes serving sessions as browser contexts.", "browser", this::hostCounts);
+    }
+
+    public static BrowserContexts shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return perBrowser > 0;
+    }
+
+    boolean supports(String browser) {
+        return isEnabled() && ("chrome".equals(browser) || "edge".equals(browser));
+    }
+
+    /**
+     * A session in a new browser context of a shared browser, started first if none has room.
+     */
+    DriverSession open(DriverFactory factory, String browser) {
+        Host host = reserve(factory, browser);
+        String contextId = null;
+        WebDriver driver = null;
+        try {
+            host.start();
+            contextId = host.createContext();
+            String windowHandle = host.createWindow(contextId);
+            driver = factory.attach(browser, host.debuggerAddress);
+            driver.switchTo().window(windowHandle);
+            String openedContext = contextId;
+            return new DriverSession(browser, driver, null, null, null, () -> close(host, openedContext));
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException ignored) {
+                    // never got a usable session
+                }
+            }
+            if (contextId != null) {
+                host.disposeQuietly(contextId);
+            }
+            // a browser that failed once is not handed out again
+            release(host, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every shared browser, including contexts still open.
+     */
+    public void shutdown() {
+        List<Host> all = new ArrayList<>();
+        synchronized (hosts) {
+            hosts.values().forEach(all::addAll);
+            hosts.clear();
+        }
+        all.forEach(Host::close);
+        if (!all.isEmpty()) {
+            LOG.info("🧹 Closed {} shared browsers", all.size());
+        }
+    }
+
+    private Host reserve(DriverFactory factory, String browser) {
+        synchronized (hosts) {
+            List<Host> running = hosts.computeIfAbsent(factory.key(browser), key -> new ArrayList<>());
+            // fill the oldest browser first, so as few as possible stay running
+            for (Host host : running) {
+                if (!host.retired && host.contexts < perBrowser) {
+                    host.contexts++;
+                    return host;
+                }
+            }
+            Host host = new Host(factory, browser);
+            host.contexts++;
+            running.add(host);
+            return host;
+        }
+    }
+
+    private void close(Host host, String contextId) {
+        boolean disposed = host.disposeQuietly(contextId);
+        release(host, !disposed);
+    }
+
+    private void release(Host host, boolean retire) {
+        boolean last;
+        synchronized (hosts) {
+            host.contexts--;
+            host.retired |= retire;
+            last = host.retired && host.contexts == 0;
+            if (last) {
+                List<Host> running = hosts.get(host.key);
+                if (running != null) running.remove(host);
+            }
+        }
+        if (last) {
+            host.close();
+        }
+    }
+
+    private Map<String, Integer> hostCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        synchronized (hosts) {
+            for (List<Host> running : hosts.values()) {
+                for (Host host : running) {
+                    if (host.isStarted()) counts.merge(host.browser, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * One shared browser and the browser-level DevTools connection contexts are created on.
+     * {@code contexts} and {@code retired} are guarded by {@code hosts}.
+     */
+    private final class Host {
+        private final DriverFactory factory;
+        private final String browser;
+        private final String key;
+        private int contexts;
+        private boolean retired;
+        private volatile DriverSession session;
+        private volatile String debuggerAddress;
+        private Connection cdp;
+        private boolean closed;
+
+        Host(DriverFactory factory, String browser) {
+            this.factory = factory;
+            this.browser = browser;
+            this.key = factory.key(browser);
+        }
+
+        boolean isStarted() {
+            return session != null;
+        }
+
+        synchronized void start() {
+            if (session != null) return;
+            if (closed) {
+                // failed for an earlier caller, or shut down; either way retired
+                throw new IllegalStateException("[BrowserContexts] Shared " + browser + " browser is closed");
+            }
+            DriverSession started = null;
+            try {
+                started = factory.startBrowser(browser);
+                debuggerAddress = debuggerAddress(started.getDriver());
+                cdp = SeleniumCdpConnection.create(started.getDriver()).orElseThrow(() ->
+                        new IllegalStateException("[BrowserContexts] " + browser + " reports no DevTools endpoint"));
+            } catch (RuntimeException e) {
+                closed = true;
+                if (started != null) started.quit();
+                throw e;
+            }
+            session = started;
+            LOG.info("🗂️  Started a shared {} browser at {} for up to {} contexts", browser, debuggerAddress, perBrowser);
+        }
+
+        String createContext() {
+            return (String) send("Target.createBrowserContext", Collections.emptyMap()).get("browserContextId");
+        }
+
+        /**
+         * Opens the context's window; its target id is the window handle chromedriver uses.
+         */
+        String createWindow(String contextId) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", contextId);
+            params.put("newWindow", true);
+            return (String) send("Target.createTarget", params).get("targetId");
+        }
+
+        /**
+         * Drops the context with its windows, cookies and storage.
+         *
+         * @return false if the browser did not respond
+         */
+        boolean disposeQuietly(String contextId) {
+            try {
+                send("Target.disposeBrowserContext", Collections.singletonMap("browserContextId", contextId));
+                return true;
+            } catch (RuntimeException e) {
+                LOG.warn("⚠️  Failed to dispose {} context {}: {}", browser, contextId, e.getMessage());
+                return false;
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (cdp != null) {
+                cdp.close();
+                cdp = null;
+            }
+            if (session != null) {
+                session.quit();
+                session = null;
+            }
+        }
+
+        private Map<String, Object> send(String method, Map<String, Object> params) {
+            Connection connection;
+            synchronized (this) {
+                connection = cdp;
+            }
+            if (connection == null) {
+                throw new IllegalStateException("[BrowserContexts] Shared " + browser + " browser is closed");
+            }
+            // no CDP session id: browser-level commands, which page sessions may not send
+            return connection.sendAndWait(null, new Command<>(method, params, AS_MAP), CDP_TIMEOUT);
+        }
+    }
+
+    /**
+     * The {@code host:port} of the browser's DevTools endpoint, as chromedriver/msedgedriver report it.
+     */
+    private static String debuggerAddress(WebDriver driver) {
+        if (driver instanceof HasCapabilities) {
+            Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+            for (String key : Arrays.asList("goog:chromeOptions", "ms:edgeOptions")) {
+                Object options = capabilities.getCapability(key);
+                if (options instanceof Map && ((Map<?, ?>) options).get("debuggerAddress") != null) {
+                    return ((Map<?, ?>) options).get("debuggerAddress").toString();
+                }
+            }
+        }
+        throw new IllegalStateException("[BrowserContexts] Browser reports no debuggerAddress");
+    }
+}
@@ -0,0 +1,306 @@
+package base;
+
+import metrics.SuiteMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps how many browser sessions are leased at once and moves the cap with host
+ * pressure, AIMD-style: every {@code -DgovernorIntervalSeconds} (default 5) the host
+ * is sampled; under pressure (CPU or load average high, free memory low) the limit is
+ * halved, otherwise, if tests are waiting and there is room for one more browser, it
+ * grows by one. The limit stays within {@code -DgovernorMinSessions} (default 1) and
+ * {@code -DgovernorMaxSessions} (default: number of cores; the pom passes the surefire
+ * {@code threadCount}). {@code -Dgovernor=off} leases without limit.
+ *
+ * {@code -DbrowserLimits=firefox:2,edge:1} additionally caps sessions per browser,
+ * also with the governor off, so matrix runs can start every browser at once while
+ * keeping the slow ones in check.
+ *
+ * TestNG still runs {@code threadCount} workers; the ones over the limit wait in
+ * {@link #acquire(String)} before starting a browser.
+ */
+public final class ConcurrencyGovernor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyGovernor.class);
+    private static final ConcurrencyGovernor SHARED = new ConcurrencyGovernor();
+
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final Path PROC = Paths.get("/proc");
+
+    private final boolean enabled = !"off".equalsIgnoreCase(System.getProperty("governor", "on"));
+    private final int min = Math.max(1, Integer.getInteger("governorMinSessions", 1));
+    private final int max = Math.max(min, Integer.getInteger("governorMaxSessions",
+            Runtime.getRuntime().availableProcessors()));
+    private final double cpuHigh = Double.parseDouble(System.getProperty("governorCpuHigh", "0.85"));
+    private final double cpuLow = Double.parseDouble(System.getProperty("governorCpuLow", "0.65"));
+    private final double minFreeMemory = Double.parseDouble(System.getProperty("governorMinFreeMemory", "0.10"));
+    private final long interval = Long.getLong("governorIntervalSeconds", 5);
+    private final Map<String, Integer> browserLimits = parseLimits(System.getProperty("browserLimits", ""));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private volatile int limit;
+    private int leased;
+    private final Map<String, Integer> leasedByBrowser = new HashMap<>();
+    private volatile int waiting;
+    private boolean holdAfterDecrease;
+    private volatile Sample last;
+    private ScheduledExecutorService sampler;
+
+    private ConcurrencyGovernor() {
+        // start near what the host can take; browsers saturate about a core each while loading
+        this.limit = Math.max(min, Math.min(max, Runtime.getRuntime().availableProcessors() / 2));
+        SuiteMetrics.shared().gauge("framework_governor_limit",
+                "Browser sessions the concurrency governor currently allows.", () -> enabled ? limit : max);
+        SuiteMetrics.shared().gauge("framework_governor_waiting",
+                "Tests waiting for a browser session slot.", () -> waiting);
+        SuiteMetrics.shared().gauge("framework_host_cpu_load",
+                "Host CPU load (0-1) at the last governor sample.", () -> last != null ? last.cpu : -1);
+        SuiteMetrics.shared().gauge("framework_browser_rss_bytes",
+                "Resident memory of browser and driver processes at the last governor sample.",
+                () -> last != null ? last.browserRss : -1);
+    }
+
+    public static ConcurrencyGovernor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Blocks until a {@code browser} session may be leased; pair with {@link #release(String)}.
+     */
+    public void acquire(String browser) {
+        int browserLimit = browserLimits.getOrDefault(browser, 0);
+        if (!enabled && browserLimit == 0) return;
+        lock.lock();
+        try {
+            if (enabled) startSampling();
+            waiting++;
+            try {
+                while ((enabled && leased >= limit)
+                        || (browserLimit > 0 && leasedByBrowser.getOrDefault(browser, 0) >= browserLimit)) {
+                    released.awaitUninterruptibly();
+                }
+            } finally {
+                waiting--;
+            }
+            leased++;
+            leasedByBrowser.merge(browser, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(String browser) {
+        if (!enabled && !browserLimits.containsKey(browser)) return;
+        lock.lock();
+        try {
+            leased--;
+            leasedByBrowser.merge(browser, -1, Integer::sum);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether one more browser may be pre-spawned ahead of a lease. Pre-spawned browsers
+     * run without a slot, so they count against the limits here: none while tests are
+     * waiting for a slot or right after the limit was lowered.
+     *
+     * @param prespawned pre-spawned browsers not yet leased, all and of {@code browser}
+     */
+    public boolean hasRoomToPrespawn(String browser, int prespawned, int prespawnedOfBrowser) {
+        int browserLimit = browserLimits.getOrDefault(browser, 0);
+        if (!enabled && browserLimit == 0) return true;
+        lock.lock();
+        try {
+            if (waiting > 0 || holdAfterDecrease) return false;
+            if (enabled && leased + prespawned >= limit) return false;
+            return browserLimit == 0 || leasedByBrowser.getOrDefault(browser, 0) + prespawnedOfBrowser < browserLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One sample-and-adjust step of the control loop.
+     */
+    void adjust() {
+        Sample sample = Sample.take();
+        last = sample;
+        lock.lock();
+        try {
+            int previous = limit;
+            String reason = sample.pressure(cpuHigh, minFreeMemory);
+            if (reason != null) {
+                limit = Math.max(min, (int) (limit * DECREASE_FACTOR));
+                holdAfterDecrease = true;
+            } else if (holdAfterDecrease) {
+                // let the host settle for one interval before probing upwards again
+                holdAfterDecrease = false;
+            } else if (waiting > 0 && leased >= limit && limit < max
+                    && sample.cpu < cpuLow && sample.hasRoomForBrowser(leased, minFreeMemory)) {
+                limit++;
+                reason = "headroom";
+                released.signalAll();
+            }
+            if (limit != previous) {
+                LOG.info("🎛️  Session limit {} → {} ({}; {})", previous, limit, reason, sample);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void startSampling() {
+        if (sampler != null) return;
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(() -> {
+            try {
+                adjust();
+            } catch (RuntimeException e) {
+                LOG.warn("⚠️  Concurrency governor sample failed: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+        LOG.info("🎛️  Concurrency governor: {} sessions to start, {}-{}{}", limit, min, max,
+                browserLimits.isEmpty() ? "" : ", per browser " + browserLimits);
+    }
+
+    /**
+     * {@code "firefox:2,edge:1"} as browser → limit; entries without a positive limit are ignored.
+     */
+    private static Map<String, Integer> parseLimits(String value) {
+        Map<String, Integer> limits = new TreeMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) continue;
+            try {
+                int browserLimit = Integer.parseInt(parts[1].trim());
+                if (browserLimit > 0) limits.put(DriverFactory.normalize(parts[0]), browserLimit);
+            } catch (NumberFormatException e) {
+                LOG.warn("⚠️  Ignoring browser limit '{}'", entry);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * Host state at one point in time; unknown values are negative.
+     */
+    static final class Sample {
+        private final double cpu;
+        private final double loadPerCore;
+        private final long freeMemory;
+        private final long totalMemory;
+        private final long browserRss;
+        private final int browserProcesses;
+
+        private Sample(double cpu, double loadPerCore, long freeMemory, long totalMemory,
+                       long browserRss, int browserProcesses) {
+            this.cpu = cpu;
+            this.loadPerCore = loadPerCore;
+            this.freeMemory = freeMemory;
+            this.totalMemory = totalMemory;
+            this.browserRss = browserRss;
+            this.browserProcesses = browserProcesses;
+        }
+
+        @SuppressWarnings("deprecation") // the Java 14+ replacements are not available on the Java 11 target
+        static Sample take() {
+            java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            int cores = os.getAvailableProcessors();
+            double load = os.getSystemLoadAverage();
+            double cpu = -1;
+            long free = -1;
+            long total = -1;
+            if (os instanceof com.sun.management.OperatingSystemMXBean) {
+                com.sun.management.OperatingSystemMXBean host = (com.sun.management.OperatingSystemMXBean) os;
+                cpu = host.getSystemCpuLoad();
+                free = host.getFreePhysicalMemorySize();
+                total = host.getTotalPhysicalMemorySize();
+            }
+            // Linux MemFree leaves out reclaimable page cache; MemAvailable is what a new browser can get
+            long available = procValue(PROC.resolve("meminfo"), "MemAvailable:");
+            if (available > 0) free = available;
+
+            // browsers and drivers are descendants of this JVM; RSS only where /proc exists
+            long rss = -1;
+            int processes = 0;
+            if (Files.isDirectory(PROC)) {
+                rss = 0;
+                for (ProcessHandle process : (Iterable<ProcessHandle>) ProcessHandle.current().descendants()::iterator) {
+                    long processRss = rss(process.pid());
+                    if (processRss > 0) {
+                        rss += processRss;
+                        processes++;
+                    }
+                }
+            }
+            return new Sample(cpu, load < 0 ? -1 : load / cores, free, total, rss, processes);
+        }
+
+        /**
+         * Why the host is overloaded, or null if it is not.
+         */
+        String pressure(double cpuHigh, double minFreeMemory) {
+            if (cpu >= cpuHigh) return "cpu";
+            if (cpu < 0 && loadPerCore >= 1.5) return "load average";
+            if (totalMemory > 0 && freeMemory < totalMemory * minFreeMemory) return "memory";
+            return null;
+        }
+
+        /**
+         * Whether one more browser, sized like the current ones, still leaves the free-memory floor.
+         */
+        boolean hasRoomForBrowser(int leased, double minFreeMemory) {
+            if (totalMemory <= 0) return true;
+            long perBrowser = browserRss > 0 && leased > 0 ? browserRss / leased : 0;
+            return freeMemory - perBrowser >= totalMemory * minFreeMemory;
+        }
+
+        private static long rss(long pid) {
+            return procValue(PROC.resolve(Long.toString(pid)).resolve("status"), "VmRSS:");
+        }
+
+        /**
+         * Bytes from a {@code /proc} line such as {@code "VmRSS:    123456 kB"}, or -1.
+         */
+        private static long procValue(Path file, String key) {
+            try {
+                for (String line : Files.readAllLines(file)) {
+                    if (line.startsWith(key)) {
+                        return Long.parseLong(line.substring(key.length()).trim().split("\\s+")[0]) * 1024;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // no /proc here, or the process exited between listing and reading
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("cpu %.0f%%, load/core %.2f, free memory %d MB, browsers %d MB in %d processes",
+                    cpu * 100, loadPerCore, freeMemory >> 20, Math.max(0, browserRss) >> 20, browserProcesses);
+        }
+    }
+}
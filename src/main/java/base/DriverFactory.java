@@ -0,0 +1,173 @@
+package base;
+
+import diagnostics.BrowserEvents;
+import env.EnvConfig;
+import fake.FakeSite;
+import fake.FakeWebDriver;
+import metrics.SuiteMetrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Starts browsers for an environment: headless flag, performance profile,
+ * warm profile clone or leased cache directory, or a context in a shared browser
+ * (see {@link BrowserContexts}).
+ * Supported browser values: chrome, firefox, edge, fake (in-memory {@link FakeWebDriver})
+ */
+public final class DriverFactory {
+
+    private final EnvConfig envConfig;
+    private final PerformanceProfile profile;
+
+    public DriverFactory(EnvConfig envConfig) {
+        this.envConfig = envConfig;
+        this.profile = PerformanceProfile.fromName(envConfig.getPerformanceProfile());
+    }
+
+    public PerformanceProfile getProfile() {
+        return profile;
+    }
+
+    public static String normalize(String browser) {
+        return browser.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Sessions with the same key are interchangeable.
+     */
+    public String key(String browser) {
+        return envConfig.getName() + "/" + normalize(browser) + (envConfig.isHeadless() ? "-headless" : "")
+                + "/" + profile.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Starts a session; the time it takes is recorded as spawn latency.
+     */
+    public DriverSession create(String browser) {
+        browser = normalize(browser);
+        long start = System.nanoTime();
+        DriverSession session = start(browser);
+        SuiteMetrics.shared().recordSpawn(browser, System.nanoTime() - start);
+        return session;
+    }
+
+    private DriverSession start(String browser) {
+        if ("fake".equals(browser)) {
+            // no process, profile or cache to manage
+            return new DriverSession(browser, new FakeWebDriver(FakeSite.current()), null, null, null);
+        }
+        if (BrowserContexts.shared().supports(browser)) {
+            return BrowserContexts.shared().open(this, browser);
+        }
+        return startBrowser(browser);
+    }
+
+    /**
+     * Starts a browser process of its own for the session.
+     */
+    DriverSession startBrowser(String browser) {
+        Path profileClone = null;
+        Path cacheDir = null;
+        if (ProfileTemplates.isEnabled()) {
+            String warmBrowser = browser;
+            Path template = ProfileTemplates.template(browser,
+                    dir -> launch(warmBrowser, dir, null), envConfig.getBaseUrl());
+            profileClone = ProfileTemplates.cloneTemplate(template, browser);
+        } else {
+            cacheDir = PerformanceProfile.acquireCacheDir(browser);
+        }
+
+        try {
+            Instant launched = Instant.now();
+            WebDriver driver = launch(browser, profileClone, cacheDir);
+            return new DriverSession(browser, driver, DriverProcesses.find(driver, launched), profileClone, cacheDir);
+        } catch (RuntimeException e) {
+            ProfileTemplates.deleteClone(profileClone);
+            PerformanceProfile.releaseCacheDir(cacheDir);
+            throw e;
+        }
+    }
+
+    /**
+     * A new session on the already running Chrome or Edge whose DevTools endpoint is
+     * {@code debuggerAddress}; quitting it leaves that browser running. The browser was
+     * launched with the profile's switches; the session gets its capabilities.
+     */
+    WebDriver attach(String browser, String debuggerAddress) {
+        if ("edge".equals(browser)) {
+            EdgeOptions edgeOptions = new EdgeOptions();
+            edgeOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
+            profile.applySession(edgeOptions);
+            return new EdgeDriver(DriverServices.edge(edgeOptions), edgeOptions);
+        }
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
+        profile.applySession(chromeOptions);
+        return new ChromeDriver(DriverServices.chrome(chromeOptions), chromeOptions);
+    }
+
+    /**
+     * Window and timeouts every session gets before its first page load.
+     */
+    public void configure(WebDriver driver) {
+        profile.applyWindow(driver);
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(envConfig.getImplicitWaitSeconds()));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(envConfig.getPageLoadTimeoutSeconds()));
+    }
+
+    /**
+     * Starts the browser, optionally on an existing profile directory, through the
+     * {@link DriverServices} service for its type.
+     */
+    private WebDriver launch(String browser, Path profileDir, Path cacheDir) {
+        switch (browser) {
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                if (envConfig.isHeadless()) {
+                    firefoxOptions.addArguments("--headless");
+                }
+                if (profileDir != null) {
+                    firefoxOptions.addArguments("-profile", profileDir.toString());
+                }
+                if (BrowserEvents.isEnabled()) {
+                    // no CDP in Firefox; console and network events come over BiDi
+                    firefoxOptions.enableBiDi();
+                }
+                profile.apply(firefoxOptions, cacheDir);
+                return new FirefoxDriver(DriverServices.firefox(firefoxOptions), firefoxOptions);
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (envConfig.isHeadless()) {
+                    edgeOptions.addArguments("--headless=new");
+                }
+                if (profileDir != null) {
+                    edgeOptions.addArguments("--user-data-dir=" + profileDir);
+                }
+                profile.apply(edgeOptions, cacheDir);
+                return new EdgeDriver(DriverServices.edge(edgeOptions), edgeOptions);
+
+            case "chrome":
+            default:
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (envConfig.isHeadless()) {
+                    chromeOptions.addArguments("--headless=new");
+                }
+                if (profileDir != null) {
+                    chromeOptions.addArguments("--user-data-dir=" + profileDir);
+                }
+                profile.apply(chromeOptions, cacheDir);
+                return new ChromeDriver(DriverServices.chrome(chromeOptions), chromeOptions);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the process behind a session (its driver service, or its browser when the
+ * service is shared) and kills process trees, so a hung or leaked browser can be
+ * removed even when {@code driver.quit()} cannot reach it.
+ *
+ * The orphan reaper ({@code -DreapOrphans=false} to turn off) kills drivers and
+ * automation-flagged browsers of the current user whose parent is gone, i.e. leftovers
+ * of crashed earlier runs, and at suite end anything still running under this JVM.
+ */
+public final class DriverProcesses {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverProcesses.class);
+
+    private static final Set<String> DRIVERS = new HashSet<>(Arrays.asList(
+            "chromedriver", "geckodriver", "msedgedriver"));
+    private static final Set<String> BROWSERS = new HashSet<>(Arrays.asList("chrome", "chromium", "msedge", "firefox"));
+    // flags the drivers add to every browser they start
+    private static final List<String> AUTOMATION_FLAGS = Arrays.asList("--enable-automation", "--test-type=webdriver",
+            "-marionette", "--marionette");
+    private static final Duration LAUNCH_SLACK = Duration.ofMillis(100);
+
+    private static final Set<Long> CLAIMED = ConcurrentHashMap.newKeySet();
+    private static volatile Long adopter;
+
+    private DriverProcesses() {
+        /* utility class - prevent instantiation */
+    }
+
+    /**
+     * The process a session owns: the driver service started for {@code driver} at or
+     * after {@code launched}, or, when the service is shared ({@link DriverServices}), the
+     * session's browser under it. Null for a fake or remote driver, or if not identifiable.
+     */
+    static ProcessHandle find(WebDriver driver, Instant launched) {
+        int port = servicePort(driver);
+        if (port < 0) return null;
+        ProcessHandle shared = DriverServices.process(port);
+        return shared != null ? findBrowser(shared, driver, launched) : findService(port, launched);
+    }
+
+    /**
+     * The driver service listening on {@code port}, started at or after {@code launched}.
+     *
+     * Matched on the service's {@code --port} argument; where the OS does not expose
+     * arguments (Windows), the one unclaimed driver child started since the launch is
+     * taken, and nothing if overlapping launches make that ambiguous.
+     */
+    static ProcessHandle findService(int port, Instant launched) {
+        List<ProcessHandle> started = new ArrayList<>();
+        for (ProcessHandle child : ProcessHandle.current().children().collect(Collectors.toList())) {
+            if (!isDriver(child) || CLAIMED.contains(child.pid())) continue;
+            String commandLine = child.info().commandLine().orElse("");
+            if (commandLine.contains("--port=" + port) || commandLine.contains("--port " + port)) {
+                return claim(child);
+            }
+            if (child.info().arguments().isEmpty() && startedSince(child, launched)) {
+                started.add(child);
+            }
+        }
+        return started.size() == 1 ? claim(started.get(0)) : null;
+    }
+
+    /**
+     * The browser a shared service started for {@code driver}, matched on the profile
+     * directory the session reports, with the same fallback as {@link #findService}.
+     */
+    private static ProcessHandle findBrowser(ProcessHandle service, WebDriver driver, Instant launched) {
+        String userDataDir = userDataDir(driver);
+        List<ProcessHandle> started = new ArrayList<>();
+        for (ProcessHandle child : service.children().collect(Collectors.toList())) {
+            if (!isBrowser(child) || CLAIMED.contains(child.pid())) continue;
+            String commandLine = child.info().commandLine().orElse("");
+            if (userDataDir != null && commandLine.contains("--user-data-dir=" + userDataDir)) {
+                return claim(child);
+            }
+            if (child.info().arguments().isEmpty() && startedSince(child, launched)) {
+                started.add(child);
+            }
+        }
+        return started.size() == 1 ? claim(started.get(0)) : null;
+    }
+
+    /**
+     * {@code root} and everything below it, captured before anything is killed so
+     * children cannot escape by being re-parented.
+     */
+    static List<ProcessHandle> tree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        root.descendants().forEach(tree::add);
+        return tree;
+    }
+
+    /**
+     * Gives the processes {@code grace} to exit on their own, then kills the rest.
+     *
+     * @return how many had to be killed
+     */
+    static int destroy(List<ProcessHandle> processes, Duration grace) {
+        long deadline = System.nanoTime() + grace.toNanos();
+        for (ProcessHandle process : processes) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            try {
+                process.onExit().get(remaining, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                break;
+            }
+        }
+        int killed = 0;
+        // children first, so the browser does not respawn helpers while its parent goes down
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            ProcessHandle process = processes.get(i);
+            if (process.isAlive() && process.destroyForcibly()) killed++;
+            CLAIMED.remove(process.pid());
+        }
+        return killed;
+    }
+
+    /**
+     * Kills leftovers from earlier runs.
+     *
+     * @param includeOwn also kill drivers still running under this JVM (suite end, when no session is legitimately open)
+     */
+    public static void reapOrphans(boolean includeOwn) {
+        if ("false".equalsIgnoreCase(System.getProperty("reapOrphans"))) return;
+        int reaped = 0;
+        if (includeOwn) {
+            for (ProcessHandle process : ProcessHandle.current().children().collect(Collectors.toList())) {
+                if (isDriver(process)) reaped += destroy(tree(process), Duration.ZERO);
+            }
+        }
+        String user = System.getProperty("user.name");
+        for (ProcessHandle process : ProcessHandle.allProcesses().collect(Collectors.toList())) {
+            boolean automation = isDriver(process) || isAutomatedBrowser(process);
+            if (automation && isOrphan(process) && isOwnedBy(process, user)) {
+                reaped += destroy(tree(process), Duration.ZERO);
+            }
+        }
+        if (reaped > 0) {
+            LOG.warn("🧟 Reaped {} orphaned driver/browser processes", reaped);
+        }
+    }
+
+    private static ProcessHandle claim(ProcessHandle process) {
+        CLAIMED.add(process.pid());
+        return process;
+    }
+
+    private static int servicePort(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) return -1;
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) return -1;
+        String host = ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getHost();
+        // a grid or remote service is not ours to kill
+        boolean local = "localhost".equals(host) || host.startsWith("127.") || "[::1]".equals(host);
+        return local ? ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort() : -1;
+    }
+
+    private static boolean isDriver(ProcessHandle process) {
+        return DRIVERS.contains(executableName(process));
+    }
+
+    private static boolean isBrowser(ProcessHandle process) {
+        String name = executableName(process);
+        return BROWSERS.stream().anyMatch(name::startsWith);
+    }
+
+    private static boolean isAutomatedBrowser(ProcessHandle process) {
+        if (!isBrowser(process)) return false;
+        String commandLine = process.info().commandLine().orElse("");
+        return AUTOMATION_FLAGS.stream().anyMatch(commandLine::contains);
+    }
+
+    private static boolean startedSince(ProcessHandle process, Instant launched) {
+        return !process.info().startInstant().orElse(Instant.MIN).isBefore(launched.minus(LAUNCH_SLACK));
+    }
+
+    /**
+     * Profile directory from the {@code chrome}/{@code msedge} capability chromedriver and msedgedriver return.
+     */
+    private static String userDataDir(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) return null;
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        for (String key : Arrays.asList("chrome", "msedge")) {
+            Object details = capabilities.getCapability(key);
+            if (details instanceof Map && ((Map<?, ?>) details).get("userDataDir") != null) {
+                return ((Map<?, ?>) details).get("userDataDir").toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOrphan(ProcessHandle process) {
+        // re-parented to init or the subreaper; Windows reports no parent once it has exited
+        long adopted = adopter();
+        return process.parent().map(parent -> parent.pid() == 1 || parent.pid() == adopted).orElse(true)
+                && process.pid() > 1;
+    }
+
+    /**
+     * The process orphans of this session are re-parented to: init, or the nearest child
+     * subreaper above this JVM (systemd --user, a container's init shim). Found once by
+     * orphaning a short-lived {@code sleep} and looking at its new parent; 1 where that
+     * does not work (Windows) or would point at this JVM.
+     */
+    private static long adopter() {
+        if (adopter == null) {
+            synchronized (DriverProcesses.class) {
+                if (adopter == null) adopter = findAdopter();
+            }
+        }
+        return adopter;
+    }
+
+    private static long findAdopter() {
+        if (System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win")) return 1;
+        ProcessHandle orphan = null;
+        try {
+            Process shell = new ProcessBuilder("sh", "-c", "sleep 5 >/dev/null 2>&1 & echo $!")
+                    .redirectErrorStream(true)
+                    .start();
+            String pid = new String(shell.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+            // the shell has exited, so its sleep has been re-parented by now
+            if (!shell.waitFor(5, TimeUnit.SECONDS)) {
+                shell.destroyForcibly();
+                return 1;
+            }
+            orphan = ProcessHandle.of(Long.parseLong(pid)).orElse(null);
+            long found = orphan == null ? 1 : orphan.parent().map(ProcessHandle::pid).orElse(1L);
+            if (found != 1 && found != ProcessHandle.current().pid()) {
+                LOG.info("🧟 Orphaned processes are re-parented to subreaper {}", found);
+                return found;
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOG.warn("⚠️  Could not determine the subreaper, reaping orphans of init only: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (orphan != null) orphan.destroy();
+        }
+        return 1;
+    }
+
+    private static boolean isOwnedBy(ProcessHandle process, String user) {
+        String owner = process.info().user().orElse("");
+        return owner.equals(user) || owner.endsWith("\\" + user);
+    }
+
+    private static String executableName(ProcessHandle process) {
+        String command = process.info().command().orElse("");
+        if (command.isEmpty()) return "";
+        String name = Paths.get(command).getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".exe") ? name.substring(0, name.length() - 4) : name;
+    }
+}
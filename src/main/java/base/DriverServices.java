@@ -0,0 +1,239 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.net.PortProber;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Driver services for local browsers. The driver binary (and, where Selenium Manager
+ * supplies one, the browser binary) is resolved once per browser type and reused, and
+ * chromedriver/msedgedriver run as one long-lived service per browser type that every
+ * session is opened against; quitting a session leaves the service running.
+ *
+ * geckodriver serves a single session per process, so Firefox still gets a service per
+ * session, started from the cached binary. {@code -DsharedDriverService=false} gives
+ * every session its own service again.
+ */
+public final class DriverServices {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverServices.class);
+
+    private static final boolean SHARED = !"false".equalsIgnoreCase(System.getProperty("sharedDriverService"));
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(20);
+
+    private static final Map<String, Binaries> BINARIES = new ConcurrentHashMap<>();
+    private static final Map<String, DriverService> SERVICES = new HashMap<>();
+    private static final Map<Integer, ProcessHandle> PROCESSES = new ConcurrentHashMap<>();
+
+    static {
+        Thread stopper = new Thread(DriverServices::stopAll, "driver-services-stop");
+        Runtime.getRuntime().addShutdownHook(stopper);
+    }
+
+    private DriverServices() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static ChromeDriverService chrome(ChromeOptions options) {
+        File driver = resolve("chrome", ChromeDriverService::createDefaultService, options);
+        if (!SHARED) {
+            return new ChromeDriverService.Builder().usingDriverExecutable(driver).usingAnyFreePort().build();
+        }
+        return (ChromeDriverService) shared("chrome", port -> new SharedChromeService(driver, port));
+    }
+
+    public static EdgeDriverService edge(EdgeOptions options) {
+        File driver = resolve("edge", EdgeDriverService::createDefaultService, options);
+        if (!SHARED) {
+            return new EdgeDriverService.Builder().usingDriverExecutable(driver).usingAnyFreePort().build();
+        }
+        return (EdgeDriverService) shared("edge", port -> new SharedEdgeService(driver, port));
+    }
+
+    public static GeckoDriverService firefox(FirefoxOptions options) {
+        File driver = resolve("firefox", GeckoDriverService::createDefaultService, options);
+        return new GeckoDriverService.Builder().usingDriverExecutable(driver).usingAnyFreePort().build();
+    }
+
+    /**
+     * The process of the shared service listening on {@code port}, or null if that is not a shared service.
+     */
+    static ProcessHandle process(int port) {
+        return PROCESSES.get(port);
+    }
+
+    /**
+     * Stops the shared services and whatever browsers are still attached to them.
+     */
+    public static void stopAll() {
+        List<DriverService> services;
+        synchronized (SERVICES) {
+            services = new ArrayList<>(SERVICES.values());
+            SERVICES.clear();
+        }
+        services.forEach(DriverServices::shutdown);
+    }
+
+    /**
+     * Driver path for {@code browser}, looked up (system property, PATH or Selenium Manager) on first use only;
+     * a browser binary that came with it is set on {@code options}.
+     */
+    private static File resolve(String browser, Supplier<DriverService> probe, Capabilities options) {
+        Binaries binaries = BINARIES.computeIfAbsent(browser, key -> {
+            DriverFinder finder = new DriverFinder(probe.get(), options);
+            Binaries found = new Binaries(finder.getDriverPath(), finder.hasBrowserPath() ? finder.getBrowserPath() : null);
+            LOG.info("🔎 {} driver resolved to {}{}", key, found.driver,
+                    found.browser != null ? " (browser " + found.browser + ")" : "");
+            return found;
+        });
+        if (binaries.browser != null) {
+            if (options instanceof ChromiumOptions) {
+                ((ChromiumOptions<?>) options).setBinary(binaries.browser);
+            } else if (options instanceof FirefoxOptions) {
+                ((FirefoxOptions) options).setBinary(binaries.browser);
+            }
+        }
+        return new File(binaries.driver);
+    }
+
+    /**
+     * The running shared service for {@code browser}, started (or restarted after it died) as needed.
+     */
+    private static DriverService shared(String browser, ServiceConstructor constructor) {
+        synchronized (SERVICES) {
+            DriverService service = SERVICES.get(browser);
+            if (service != null && service.isRunning()) {
+                return service;
+            }
+            if (service != null) {
+                LOG.warn("⚠️  Shared {} driver service died; starting a new one", browser);
+                shutdown(service);
+            }
+            int port = PortProber.findFreePort();
+            try {
+                Instant launched = Instant.now();
+                service = constructor.create(port);
+                service.sendOutputTo(OutputStream.nullOutputStream());
+                service.start();
+                ProcessHandle process = DriverProcesses.findService(port, launched);
+                if (process != null) {
+                    PROCESSES.put(port, process);
+                }
+                SERVICES.put(browser, service);
+                LOG.info("🚗 Shared {} driver service at {}", browser, service.getUrl());
+                return service;
+            } catch (IOException e) {
+                throw new UncheckedIOException("[DriverServices] Failed to start the " + browser + " driver service", e);
+            }
+        }
+    }
+
+    private static void shutdown(DriverService service) {
+        ((Shared) service).shutdown();
+        ProcessHandle process = PROCESSES.remove(((Shared) service).port());
+        if (process != null) {
+            // browsers of sessions nobody quit are still attached to the service
+            DriverProcesses.destroy(DriverProcesses.tree(process), Duration.ofSeconds(2));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ServiceConstructor {
+        DriverService create(int port) throws IOException;
+    }
+
+    /**
+     * A service that ignores the {@code stop()} each session's quit sends it.
+     */
+    private interface Shared {
+        int port();
+
+        void shutdown();
+    }
+
+    private static final class SharedChromeService extends ChromeDriverService implements Shared {
+        private final int port;
+        private volatile boolean stopping;
+
+        SharedChromeService(File executable, int port) throws IOException {
+            super(executable, port, START_TIMEOUT, Collections.singletonList("--port=" + port), Collections.emptyMap());
+            this.port = port;
+        }
+
+        @Override
+        public void stop() {
+            if (stopping) super.stop();
+        }
+
+        @Override
+        public int port() {
+            return port;
+        }
+
+        @Override
+        public void shutdown() {
+            stopping = true;
+            super.stop();
+        }
+    }
+
+    private static final class SharedEdgeService extends EdgeDriverService implements Shared {
+        private final int port;
+        private volatile boolean stopping;
+
+        SharedEdgeService(File executable, int port) throws IOException {
+            super(executable, port, START_TIMEOUT, Collections.singletonList("--port=" + port), Collections.emptyMap());
+            this.port = port;
+        }
+
+        @Override
+        public void stop() {
+            if (stopping) super.stop();
+        }
+
+        @Override
+        public int port() {
+            return port;
+        }
+
+        @Override
+        public void shutdown() {
+            stopping = true;
+            super.stop();
+        }
+    }
+
+    private static final class Binaries {
+        private final String driver;
+        private final String browser;
+
+        Binaries(String driver, String browser) {
+            this.driver = driver;
+            this.browser = browser;
+        }
+    }
+}
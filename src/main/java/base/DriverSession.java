@@ -0,0 +1,216 @@
+package base;
+
+import diagnostics.BrowserEvents;
+import metrics.SuiteMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Storage;
+import org.openqa.selenium.bidi.storage.CookieFilter;
+import org.openqa.selenium.bidi.storage.DeleteCookiesParameters;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.SideWork;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A started browser together with the on-disk state it owns (profile clone,
+ * leased cache directory) and its process tree (driver service, or just the browser
+ * when the service is shared), released again by {@link #quit()} or, when the
+ * browser no longer responds, {@link #kill()}.
+ */
+public final class DriverSession {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverSession.class);
+
+    private final String browser;
+    private final WebDriver driver;
+    private final Path profileClone;
+    private final Path cacheDir;
+    private final ProcessHandle process;
+    private final BrowserEvents events;
+    private final Runnable onClose;
+    private final AtomicBoolean active = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Thread owner;
+    private volatile long leasedAt;
+    private volatile long slotWaitNanos;
+
+    DriverSession(String browser, WebDriver driver, ProcessHandle process, Path profileClone, Path cacheDir) {
+        this(browser, driver, process, profileClone, cacheDir, null);
+    }
+
+    /**
+     * @param onClose run once the session is closed, e.g. to drop the browser context it ran in
+     */
+    DriverSession(String browser, WebDriver driver, ProcessHandle process, Path profileClone, Path cacheDir,
+                  Runnable onClose) {
+        this.browser = browser;
+        this.driver = driver;
+        this.process = process;
+        this.profileClone = profileClone;
+        this.cacheDir = cacheDir;
+        this.onClose = onClose;
+        this.events = BrowserEvents.attach(driver);
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Console/exception/network events streamed from this session, or null if unsupported.
+     */
+    public BrowserEvents getEvents() {
+        return events;
+    }
+
+    /**
+     * Marks the session as handed out, counted as active (and holding a governor slot) until {@link #quit()}.
+     *
+     * @param slotWaitNanos how long the caller waited for its {@link ConcurrencyGovernor} slot
+     */
+    void activate(long slotWaitNanos) {
+        if (active.compareAndSet(false, true)) {
+            this.slotWaitNanos = slotWaitNanos;
+            owner = Thread.currentThread();
+            leasedAt = System.nanoTime();
+            SuiteMetrics.shared().sessionActivated(browser);
+            SessionWatchdog.shared().watch(this);
+        }
+    }
+
+    /**
+     * Restarts the session deadline; for long-lived sessions that are still making progress.
+     */
+    public void keepAlive() {
+        leasedAt = System.nanoTime();
+    }
+
+    /**
+     * Time spent waiting for a {@link ConcurrencyGovernor} slot before this session was handed out.
+     */
+    public long getSlotWaitNanos() {
+        return slotWaitNanos;
+    }
+
+    Thread getOwner() {
+        return owner;
+    }
+
+    long getLeasedAt() {
+        return leasedAt;
+    }
+
+    /**
+     * Logs the browser out of everything: all its cookies (of the session's own browser
+     * context when it shares a browser) plus cookies and storage of {@code origins}
+     * through CDP on Chrome/Edge, all cookies through BiDi on Firefox, and otherwise just
+     * the cookies WebDriver sees from the current page. Storage of the current page is
+     * cleared in every case, since session storage belongs to the tab.
+     */
+    public void clearBrowserState(List<String> origins) {
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            for (String origin : origins) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", origin);
+                params.put("storageTypes", "cookies,local_storage,indexeddb,cache_storage,service_workers");
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+            }
+        } else if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+            new Storage(driver).deleteCookies(new DeleteCookiesParameters(new CookieFilter()));
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        if (driver instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+        }
+    }
+
+    /**
+     * Quits the browser (ignoring an already closed session) and frees its directories.
+     * Session processes still alive a few seconds later are killed.
+     */
+    public void quit() {
+        if (!closed.compareAndSet(false, true)) return;
+        release();
+        // snapshot first: once the driver exits, a surviving browser is re-parented out of reach
+        List<ProcessHandle> tree = process != null ? DriverProcesses.tree(process) : null;
+        if (events != null) {
+            events.close();
+        }
+        try {
+            driver.quit();
+        } catch (Exception ignored) {
+            // tests may have quit the driver themselves
+        }
+        dispose();
+        if (tree != null) {
+            SideWork.submit("Driver process cleanup", () -> DriverProcesses.destroy(tree, Duration.ofSeconds(5)));
+        }
+        ProfileTemplates.deleteClone(profileClone);
+        PerformanceProfile.releaseCacheDir(cacheDir);
+    }
+
+    /**
+     * Kills the session's process tree without talking to the (possibly hung) browser,
+     * freeing the session's governor slot; calls blocked on the driver then fail.
+     */
+    public void kill() {
+        if (!closed.compareAndSet(false, true)) return;
+        release();
+        if (process != null) {
+            DriverProcesses.destroy(DriverProcesses.tree(process), Duration.ZERO);
+        } else {
+            // nothing to kill (fake, context or unidentified process); quit off this thread in case it hangs
+            Thread quitter = new Thread(() -> {
+                // a dropped context closes its tab, which also fails the calls blocked on it
+                dispose();
+                try {
+                    driver.quit();
+                } catch (Exception ignored) {
+                    // already gone
+                }
+            }, "driver-kill");
+            quitter.setDaemon(true);
+            quitter.start();
+        }
+        if (events != null) {
+            events.close();
+        }
+        ProfileTemplates.deleteClone(profileClone);
+        PerformanceProfile.releaseCacheDir(cacheDir);
+    }
+
+    private void dispose() {
+        if (onClose == null) return;
+        try {
+            onClose.run();
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Failed to dispose the {} session: {}", browser, e.getMessage());
+        }
+    }
+
+    private void release() {
+        if (active.compareAndSet(true, false)) {
+            SessionWatchdog.shared().forget(this);
+            SuiteMetrics.shared().sessionReleased(browser);
+            ConcurrencyGovernor.shared().release(browser);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package base;
+
+import metrics.SuiteMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts browsers on a background executor ahead of test demand, so
+ * {@code initDriver()} can pick up a ready session instead of waiting for one.
+ *
+ * Demand is registered per session key (see {@link DriverFactory#key(String)}) by
+ * {@code listeners.DriverPrespawnListener} from the TestNG method queue. While demand
+ * remains, up to {@code -Dprespawn=N} sessions (default 1) are kept starting or ready
+ * for each key; {@code -Dprespawn=0} turns pre-spawning off. Pre-spawned browsers count
+ * against the {@link ConcurrencyGovernor} limits, so none are started while tests wait
+ * for a slot. Sessions nobody picked up are quit by {@link #shutdown()} at the end of the suite.
+ */
+public final class DriverSpawner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverSpawner.class);
+    private static final DriverSpawner SHARED = new DriverSpawner(
+            Integer.parseInt(System.getProperty("prespawn", "1")),
+            Integer.parseInt(System.getProperty("prespawnThreads", "2")));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            SHARED.shutdown();
+            SHARED.executor.shutdownNow();
+        }, "driver-spawner-stop"));
+    }
+
+    private final int ahead;
+    private final ExecutorService executor;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    // pre-spawned (starting or ready) and not yet handed out, all and per browser
+    private final AtomicInteger prespawned = new AtomicInteger();
+    private final Map<String, AtomicInteger> prespawnedByBrowser = new ConcurrentHashMap<>();
+
+    private DriverSpawner(int ahead, int threads) {
+        this.ahead = Math.max(0, ahead);
+        AtomicInteger ids = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "driver-spawner-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        SuiteMetrics.shared().gauge("framework_browser_sessions_idle",
+                "Pre-spawned browser sessions ready and waiting for a test.", "browser", () -> spawnedSessions(true));
+        SuiteMetrics.shared().gauge("framework_browser_sessions_starting",
+                "Pre-spawned browser sessions still starting.", "browser", () -> spawnedSessions(false));
+    }
+
+    public static DriverSpawner shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return ahead > 0;
+    }
+
+    /**
+     * Announces {@code sessions} upcoming {@code initDriver()} calls for this browser
+     * and starts spawning the first of them.
+     */
+    public void expect(DriverFactory factory, String browser, int sessions) {
+        if (!isEnabled() || sessions <= 0) return;
+        Pool pool = pool(factory, browser);
+        pool.addDemand(sessions);
+        pool.topUp();
+        LOG.info("🔮 Expecting {} {} sessions, pre-spawning up to {}",
+                sessions, factory.key(browser), Math.min(ahead, sessions));
+    }
+
+    /**
+     * Gives back {@code sessions} announced by {@link #expect} that will never be asked
+     * for, and quits pre-spawned sessions beyond the demand that is left.
+     */
+    public void withdraw(DriverFactory factory, String browser, int sessions) {
+        if (!isEnabled() || sessions <= 0) return;
+        List<CompletableFuture<DriverSession>> surplus = pool(factory, browser).withdraw(sessions);
+        for (CompletableFuture<DriverSession> future : surplus) {
+            future.thenAccept(DriverSession::quit);
+        }
+        LOG.info("🔮 {} fewer {} sessions expected, quitting {} pre-spawned",
+                sessions, factory.key(browser), surplus.size());
+    }
+
+    /**
+     * Returns a pre-spawned session when one is starting or ready, otherwise starts
+     * one on the calling thread. Either way the next expected session is kicked off.
+     * Waits first for a slot from the {@link ConcurrencyGovernor}; {@link DriverSession#quit()} frees it.
+     */
+    public DriverSession acquire(DriverFactory factory, String browser) {
+        browser = DriverFactory.normalize(browser);
+        long waitStart = System.nanoTime();
+        ConcurrencyGovernor.shared().acquire(browser);
+        long slotWait = System.nanoTime() - waitStart;
+        try {
+            return activate(obtain(factory, browser), slotWait);
+        } catch (RuntimeException e) {
+            ConcurrencyGovernor.shared().release(browser);
+            throw e;
+        }
+    }
+
+    private DriverSession obtain(DriverFactory factory, String browser) {
+        if (!isEnabled()) {
+            return factory.create(browser);
+        }
+
+        Pool pool = pool(factory, browser);
+        CompletableFuture<DriverSession> spawned = pool.take();
+        pool.topUp();
+        if (spawned != null) {
+            try {
+                DriverSession session = spawned.join();
+                LOG.info("⚡ Using pre-spawned {} session", browser);
+                return session;
+            } catch (CompletionException e) {
+                LOG.warn("⚠️  Pre-spawned {} session failed, starting inline: {}", browser, e.getCause().getMessage());
+            }
+        }
+        return factory.create(browser);
+    }
+
+    /**
+     * Quits every session that was spawned but never used.
+     */
+    public void shutdown() {
+        int wasted = 0;
+        for (Pool pool : pools.values()) {
+            for (CompletableFuture<DriverSession> future : pool.drain()) {
+                try {
+                    future.join().quit();
+                    wasted++;
+                } catch (CompletionException ignored) {
+                    // failed spawn - nothing to quit
+                }
+            }
+        }
+        pools.clear();
+        if (wasted > 0) {
+            LOG.info("🧹 Quit {} unused pre-spawned sessions", wasted);
+        }
+    }
+
+    /**
+     * Pre-spawned sessions per browser that are ready ({@code true}) or still starting.
+     */
+    private Map<String, Integer> spawnedSessions(boolean ready) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Pool pool : pools.values()) {
+            int count = pool.count(ready);
+            if (count > 0) counts.merge(pool.browser, count, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static DriverSession activate(DriverSession session, long slotWaitNanos) {
+        session.activate(slotWaitNanos);
+        return session;
+    }
+
+    private Pool pool(DriverFactory factory, String browser) {
+        String normalized = DriverFactory.normalize(browser);
+        return pools.computeIfAbsent(factory.key(normalized), key -> new Pool(factory, normalized));
+    }
+
+    /**
+     * Spawned sessions and outstanding demand for one session key.
+     */
+    private final class Pool {
+        private final DriverFactory factory;
+        private final String browser;
+        private final Deque<CompletableFuture<DriverSession>> spawned = new ArrayDeque<>();
+        private int demand;
+
+        Pool(DriverFactory factory, String browser) {
+            this.factory = factory;
+            this.browser = browser;
+        }
+
+        synchronized void addDemand(int sessions) {
+            demand += sessions;
+        }
+
+        synchronized List<CompletableFuture<DriverSession>> withdraw(int sessions) {
+            demand = Math.max(0, demand - sessions);
+            List<CompletableFuture<DriverSession>> surplus = new ArrayList<>();
+            while (spawned.size() > demand) {
+                surplus.add(spawned.pollLast());
+                counted(-1);
+            }
+            return surplus;
+        }
+
+        synchronized CompletableFuture<DriverSession> take() {
+            if (demand > 0) demand--;
+            CompletableFuture<DriverSession> next = spawned.pollFirst();
+            if (next != null) counted(-1);
+            return next;
+        }
+
+        /**
+         * Keeps {@code ahead} sessions in flight, but never more than are still expected
+         * (the session just handed out no longer counts as demand) or the governor has room for.
+         */
+        synchronized void topUp() {
+            while (spawned.size() < Math.min(ahead, demand) && !executor.isShutdown()
+                    && ConcurrencyGovernor.shared().hasRoomToPrespawn(browser, prespawned.get(), counter().get())) {
+                spawned.addLast(CompletableFuture.supplyAsync(() -> factory.create(browser), executor));
+                counted(1);
+            }
+        }
+
+        private AtomicInteger counter() {
+            return prespawnedByBrowser.computeIfAbsent(browser, key -> new AtomicInteger());
+        }
+
+        private void counted(int delta) {
+            prespawned.addAndGet(delta);
+            counter().addAndGet(delta);
+        }
+
+        synchronized int count(boolean ready) {
+            int count = 0;
+            for (CompletableFuture<DriverSession> future : spawned) {
+                boolean counted = ready ? future.isDone() && !future.isCompletedExceptionally() : !future.isDone();
+                if (counted) count++;
+            }
+            return count;
+        }
+
+        synchronized List<CompletableFuture<DriverSession>> drain() {
+            demand = 0;
+            List<CompletableFuture<DriverSession>> all = new ArrayList<>(spawned);
+            spawned.clear();
+            counted(-all.size());
+            return all;
+        }
+    }
+}
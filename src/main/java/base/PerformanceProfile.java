@@ -0,0 +1,151 @@
+package base;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named browser tuning profiles, selected per environment through
+ * {@code EnvConfig.getPerformanceProfile()} (override with {@code -DperfProfile=...}).
+ *
+ * <ul>
+ *   <li>{@code default} - stock browser, maximized window</li>
+ *   <li>{@code throughput} - no GPU/extensions/background networking, eager page load,
+ *       pinned window size, disk cache reused by consecutive sessions through
+ *       {@link #acquireCacheDir(String)} (unless the session runs on a warm
+ *       {@link ProfileTemplates} clone)</li>
+ *   <li>{@code lean} - throughput plus images disabled</li>
+ * </ul>
+ */
+public enum PerformanceProfile {
+    DEFAULT(false, false),
+    THROUGHPUT(true, false),
+    LEAN(true, true);
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerformanceProfile.class);
+    private static final Dimension WINDOW_SIZE = new Dimension(1366, 900);
+    private static final Path CACHE_ROOT = Paths.get("target", "browser-cache");
+    private static final Set<Path> LEASED_CACHE_DIRS = new HashSet<>();
+
+    private final boolean tuned;
+    private final boolean blockImages;
+
+    PerformanceProfile(boolean tuned, boolean blockImages) {
+        this.tuned = tuned;
+        this.blockImages = blockImages;
+    }
+
+    public static PerformanceProfile fromName(String name) {
+        if (name == null || name.trim().isEmpty()) return DEFAULT;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("⚠️  Unknown performance profile '{}', using default", name);
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Chrome and Edge share the Chromium switches.
+     *
+     * @param cacheDir disk cache from {@link #acquireCacheDir(String)}, or null when the
+     *                 session brings its own profile (and cache) directory
+     */
+    public void apply(ChromiumOptions<?> options, Path cacheDir) {
+        if (!tuned) return;
+
+        options.addArguments(
+                "--disable-gpu",
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--disable-dev-shm-usage",
+                "--no-first-run",
+                "--no-default-browser-check",
+                "--mute-audio",
+                "--window-size=" + WINDOW_SIZE.getWidth() + "," + WINDOW_SIZE.getHeight());
+        if (cacheDir != null) {
+            options.addArguments("--disk-cache-dir=" + cacheDir);
+        }
+        applySession(options);
+
+        if (blockImages) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+    }
+
+    /**
+     * The session-level part of {@link #apply(ChromiumOptions, Path)}, for sessions attached
+     * to a browser that was launched (with the switches) already.
+     */
+    public void applySession(ChromiumOptions<?> options) {
+        if (!tuned) return;
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+
+    public void apply(FirefoxOptions options, Path cacheDir) {
+        if (!tuned) return;
+
+        options.addArguments("--width=" + WINDOW_SIZE.getWidth(), "--height=" + WINDOW_SIZE.getHeight());
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("datareporting.healthreport.uploadEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("media.volume_scale", "0.0");
+        if (cacheDir != null) {
+            options.addPreference("browser.cache.disk.parent_directory", cacheDir.toString());
+        }
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+
+        if (blockImages) {
+            options.addPreference("permissions.default.image", 2);
+        }
+    }
+
+    /**
+     * Tuned profiles pin the size at launch; only the default profile maximizes.
+     */
+    public void applyWindow(WebDriver driver) {
+        if (!tuned) {
+            driver.manage().window().maximize();
+        }
+    }
+
+    /**
+     * Leases the lowest-numbered free cache directory for a browser type, so consecutive
+     * sessions reuse warm caches while two live browsers never share one.
+     */
+    public static Path acquireCacheDir(String browser) {
+        synchronized (LEASED_CACHE_DIRS) {
+            for (int slot = 1; ; slot++) {
+                Path dir = CACHE_ROOT.resolve(browser + "-slot-" + slot).toAbsolutePath();
+                if (LEASED_CACHE_DIRS.add(dir)) return dir;
+            }
+        }
+    }
+
+    public static void releaseCacheDir(Path dir) {
+        if (dir == null) return;
+        synchronized (LEASED_CACHE_DIRS) {
+            LEASED_CACHE_DIRS.remove(dir);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Pre-warmed browser profiles, enabled with {@code -DwarmProfile=true}.
+ *
+ * The first session of each browser type builds a template profile (optionally
+ * after visiting the base URL so caches, service workers and fonts are populated);
+ * every session then starts from a clone of it:
+ * <ol>
+ *   <li>reflink copy ({@code cp --reflink=always}) where the filesystem supports it;</li>
+ *   <li>otherwise hard links for cache entries, which are made read-only in the template
+ *       so the browser replaces them instead of writing through to the shared inode
+ *       (POSIX, non-root only), and plain copies for everything else.</li>
+ * </ol>
+ */
+public final class ProfileTemplates {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProfileTemplates.class);
+    private static final Path ROOT = Paths.get("target", "browser-profiles");
+    private static final Set<String> CACHE_DIRS = new HashSet<>(Arrays.asList(
+            "cache", "code cache", "gpucache", "shadercache", "grshadercache", "cache_data",
+            "cachestorage", "scriptcache", "cache2", "startupcache"));
+
+    private static final Map<String, CompletableFuture<Path>> TEMPLATES = new ConcurrentHashMap<>();
+    private static final AtomicInteger CLONE_IDS = new AtomicInteger();
+    private static volatile Boolean reflinkSupported;
+
+    private ProfileTemplates() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("warmProfile", "false"));
+    }
+
+    /**
+     * Returns the template profile for {@code browser}, building it on first use.
+     *
+     * @param launcher starts a browser using the given profile directory
+     * @param warmUpUrl page to load while building, or null to skip the warm-up
+     */
+    public static Path template(String browser, Function<Path, WebDriver> launcher, String warmUpUrl) {
+        // built outside the map, so a launch doesn't hold up lookups of other browsers
+        CompletableFuture<Path> building = new CompletableFuture<>();
+        CompletableFuture<Path> template = TEMPLATES.putIfAbsent(browser, building);
+        if (template == null) {
+            template = building;
+            try {
+                building.complete(buildTemplate(browser, launcher, warmUpUrl));
+            } catch (RuntimeException | Error e) {
+                // the next session tries again
+                TEMPLATES.remove(browser, building);
+                building.completeExceptionally(e);
+            }
+        }
+        try {
+            return template.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a private, disposable copy of the template for one session.
+     */
+    public static Path cloneTemplate(Path template, String browser) {
+        Path clone = ROOT.resolve("clones").resolve(browser + "-" + CLONE_IDS.incrementAndGet()).toAbsolutePath();
+        long start = System.nanoTime();
+        try {
+            delete(clone);
+            Files.createDirectories(clone.getParent());
+            if (!reflink(template, clone)) {
+                linkOrCopy(template, clone);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("[ProfileTemplates] Failed to clone " + template + ": " + e.getMessage(), e);
+        }
+        LOG.info("🧬 Profile cloned for {} in {} ms", browser, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return clone;
+    }
+
+    public static void deleteClone(Path clone) {
+        if (clone == null) return;
+        try {
+            delete(clone);
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to delete profile clone {}: {}", clone, e.getMessage());
+        }
+    }
+
+    // ==================== TEMPLATE BUILD ====================
+
+    private static Path buildTemplate(String browser, Function<Path, WebDriver> launcher, String warmUpUrl) {
+        Path template = ROOT.resolve("templates").resolve(browser).toAbsolutePath();
+        long start = System.nanoTime();
+        try {
+            delete(template);
+            Files.createDirectories(template);
+        } catch (IOException e) {
+            throw new IllegalStateException("[ProfileTemplates] Cannot create " + template, e);
+        }
+
+        WebDriver driver = launcher.apply(template);
+        try {
+            if (warmUpUrl != null) {
+                driver.get(warmUpUrl);
+                waitForLoad(driver);
+            }
+        } finally {
+            driver.quit();
+        }
+
+        if (!isWindows()) {
+            makeCachesReadOnly(template);
+        }
+        LOG.info("🔥 Warm {} profile template built in {} s: {}",
+                browser, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), template);
+        return template;
+    }
+
+    /**
+     * Waits for the document and then gives service workers a moment to install.
+     */
+    private static void waitForLoad(WebDriver driver) {
+        long settleMillis = Long.parseLong(System.getProperty("warmProfileSettleMillis", "3000"));
+        long deadline = System.currentTimeMillis() + 30_000;
+        try {
+            while (System.currentTimeMillis() < deadline
+                    && !"complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState"))) {
+                Thread.sleep(200);
+            }
+            Thread.sleep(settleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void makeCachesReadOnly(Path template) {
+        try (Stream<Path> files = Files.walk(template)) {
+            files.filter(Files::isRegularFile)
+                    .filter(ProfileTemplates::isCacheEntry)
+                    .forEach(file -> file.toFile().setWritable(false, false));
+        } catch (IOException e) {
+            LOG.warn("⚠️  Could not protect template caches: {}", e.getMessage());
+        }
+    }
+
+    // ==================== CLONING ====================
+
+    private static boolean reflink(Path source, Path target) {
+        if (Boolean.FALSE.equals(reflinkSupported) || isWindows()) return false;
+        try {
+            Process process = new ProcessBuilder("cp", "-a", "--reflink=always", source.toString(), target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            boolean ok = process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0;
+            if (!ok) {
+                process.destroyForcibly();
+                delete(target);
+            }
+            reflinkSupported = ok;
+            return ok;
+        } catch (IOException e) {
+            reflinkSupported = false;
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        // read-only bits protect the template only for non-root users on POSIX
+        boolean links = !isWindows() && !"root".equals(System.getProperty("user.name"));
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path destination = target.resolve(source.relativize(file).toString());
+                if (links && isCacheEntry(file)) {
+                    try {
+                        Files.createLink(destination, file);
+                        return FileVisitResult.CONTINUE;
+                    } catch (IOException | UnsupportedOperationException e) {
+                        // different filesystem or no link support - fall through to a copy
+                    }
+                }
+                Files.copy(file, destination);
+                destination.toFile().setWritable(true);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isCacheEntry(Path file) {
+        for (Path part : file.getParent()) {
+            if (CACHE_DIRS.contains(part.toString().toLowerCase(Locale.ROOT))) return true;
+        }
+        return false;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+    }
+}
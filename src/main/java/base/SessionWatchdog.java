@@ -0,0 +1,176 @@
+package base;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hard deadlines for tests and browser sessions. A test still running after
+ * {@code -DtestDeadlineSeconds} (default 600), or a leased session with no
+ * {@link DriverSession#keepAlive()} for {@code -DsessionDeadlineSeconds} (default 1800),
+ * is treated as hung: a thread dump and, if the browser still answers, a screenshot go
+ * to {@code target/watchdog}, then the session's process tree is killed (which frees
+ * its governor slot) and the test thread is interrupted. 0 turns a deadline off.
+ */
+public final class SessionWatchdog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionWatchdog.class);
+    private static final SessionWatchdog SHARED = new SessionWatchdog();
+
+    private static final Path DIR = Paths.get("target", "watchdog");
+    private static final long SCREENSHOT_TIMEOUT_SECONDS = 10;
+
+    private final long testDeadline = TimeUnit.SECONDS.toNanos(Long.getLong("testDeadlineSeconds", 600));
+    private final long sessionDeadline = TimeUnit.SECONDS.toNanos(Long.getLong("sessionDeadlineSeconds", 1800));
+    private final Map<Thread, RunningTest> tests = new ConcurrentHashMap<>();
+    private final Set<DriverSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService checker;
+
+    private SessionWatchdog() {
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public static SessionWatchdog shared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts the deadline of the test running on the calling thread.
+     */
+    public void testStarted(String name) {
+        tests.put(Thread.currentThread(), new RunningTest(name, System.nanoTime()));
+    }
+
+    public void testFinished() {
+        tests.remove(Thread.currentThread());
+    }
+
+    void watch(DriverSession session) {
+        sessions.add(session);
+    }
+
+    void forget(DriverSession session) {
+        sessions.remove(session);
+    }
+
+    private void check() {
+        try {
+            long now = System.nanoTime();
+            if (testDeadline > 0) {
+                tests.forEach((thread, test) -> {
+                    if (now - test.started > testDeadline && tests.remove(thread, test)) {
+                        List<DriverSession> held = new ArrayList<>();
+                        for (DriverSession session : sessions) {
+                            if (session.getOwner() == thread) held.add(session);
+                        }
+                        hung(test.name, thread, held,
+                                "test deadline of " + TimeUnit.NANOSECONDS.toSeconds(testDeadline) + " s");
+                    }
+                });
+            }
+            if (sessionDeadline > 0) {
+                for (DriverSession session : sessions) {
+                    if (now - session.getLeasedAt() > sessionDeadline) {
+                        Thread owner = session.getOwner();
+                        RunningTest test = owner != null ? tests.get(owner) : null;
+                        hung(test != null ? test.name : session.getBrowser() + "-session", owner,
+                                Collections.singletonList(session),
+                                "session deadline of " + TimeUnit.NANOSECONDS.toSeconds(sessionDeadline) + " s");
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Session watchdog check failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Captures evidence, then kills the stuck sessions and interrupts the thread waiting on them.
+     */
+    private void hung(String name, Thread thread, List<DriverSession> stuck, String reason) {
+        Path dir = DIR.resolve(safe(name) + "_" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()));
+        LOG.error("⏱️  {} exceeded the {} on {}; killing its browser (evidence in {})", name, reason,
+                thread != null ? thread.getName() : "no thread", dir);
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("threads.txt"), threadDump().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to write thread dump: {}", e.getMessage());
+        }
+
+        for (DriverSession session : stuck) {
+            screenshot(session, dir);
+            session.kill();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private static void screenshot(DriverSession session, Path dir) {
+        if (!(session.getDriver() instanceof TakesScreenshot)) return;
+        // a hung browser may never answer; give up rather than hang the watchdog too
+        CompletableFuture<byte[]> shot = CompletableFuture.supplyAsync(
+                () -> ((TakesScreenshot) session.getDriver()).getScreenshotAs(OutputType.BYTES));
+        try {
+            byte[] png = shot.get(SCREENSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Files.write(dir.resolve(session.getBrowser() + ".png"), png);
+        } catch (Exception e) {
+            shot.cancel(true);
+            LOG.warn("⚠️  No screenshot from the hung {} session: {}", session.getBrowser(), e.getMessage());
+        }
+    }
+
+    private static String threadDump() {
+        StringBuilder dump = new StringBuilder();
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            Thread thread = entry.getKey();
+            dump.append('"').append(thread.getName()).append('"')
+                    .append(thread.isDaemon() ? " daemon" : "")
+                    .append(" state=").append(thread.getState()).append('\n');
+            for (StackTraceElement frame : entry.getValue()) {
+                dump.append("\tat ").append(frame).append('\n');
+            }
+            dump.append('\n');
+        }
+        return dump.toString();
+    }
+
+    private static String safe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static final class RunningTest {
+        private final String name;
+        private final long started;
+
+        RunningTest(String name, long started) {
+            this.name = name;
+            this.started = started;
+        }
+    }
+}
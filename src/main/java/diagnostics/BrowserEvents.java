@@ -0,0 +1,230 @@
+package diagnostics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.log.BaseLogEntry;
+import org.openqa.selenium.bidi.log.LogLevel;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Streams console messages, JavaScript exceptions and failed network requests of a
+ * session into an {@link EventBuffer} while the test runs.
+ *
+ * Sessions with BiDi enabled (Firefox) subscribe through {@link LogInspector} and
+ * the BiDi {@link Network} module; Chrome and Edge use raw CDP events on the
+ * DevTools connection. Successful requests are not buffered. Buffer size:
+ * {@code -DeventBuffer} (default 5000 entries); {@code -DbrowserEvents=false}
+ * turns streaming off.
+ */
+public final class BrowserEvents implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserEvents.class);
+    private static final int CAPACITY = Integer.parseInt(System.getProperty("eventBuffer", "5000"));
+    private static final Function<JsonInput, Map<String, Object>> AS_MAP = input -> input.read(Json.MAP_TYPE);
+    // CDP requests in flight remembered for naming failed ones; the oldest are forgotten past this
+    private static final int IN_FLIGHT = 1000;
+
+    private final EventBuffer buffer = new EventBuffer(CAPACITY);
+    private final String source;
+    private final Map<String, String> requests = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > IN_FLIGHT;
+                }
+            });
+    private LogInspector logInspector;
+    private Network network;
+    private volatile boolean open = true;
+
+    private BrowserEvents(String source) {
+        this.source = source;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("browserEvents", "true"));
+    }
+
+    /**
+     * Subscribes to the session's events, or returns null when the driver offers
+     * neither BiDi nor CDP (callers fall back to the logging API).
+     */
+    public static BrowserEvents attach(WebDriver driver) {
+        if (!isEnabled()) return null;
+        try {
+            if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                BrowserEvents events = new BrowserEvents("BiDi");
+                events.subscribeBiDi(driver);
+                return events;
+            }
+            if (driver instanceof HasDevTools) {
+                BrowserEvents events = new BrowserEvents("CDP");
+                events.subscribeCdp(((HasDevTools) driver).getDevTools(), driver.getWindowHandle());
+                return events;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Browser event streaming unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Events captured since the last drain or clear, oldest first.
+     */
+    public List<LogEntry> drain() {
+        long dropped = buffer.getDropped();
+        List<LogEntry> entries = buffer.drain();
+        if (dropped > 0) {
+            entries.add(0, new LogEntry(Level.WARNING, System.currentTimeMillis(),
+                    "[buffer] " + dropped + " older events were dropped (capacity " + CAPACITY + ")"));
+        }
+        return entries;
+    }
+
+    /**
+     * Forgets everything captured so far, e.g. after a passing test.
+     */
+    public void clear() {
+        buffer.clear();
+    }
+
+    // ==================== BIDI ====================
+
+    private void subscribeBiDi(WebDriver driver) {
+        logInspector = new LogInspector(driver);
+        logInspector.onConsoleEntry(entry -> record(entry, "console"));
+        logInspector.onJavaScriptException(entry -> record(entry, "exception"));
+
+        network = new Network(driver);
+        network.onResponseCompleted(response -> {
+            int status = response.getResponseData().getStatus();
+            if (status >= 400) {
+                record(status >= 500 ? Level.SEVERE : Level.WARNING, response.getTimestamp(),
+                        "[network] " + status + " " + response.getRequest().getMethod() + " " + response.getRequest().getUrl());
+            }
+        });
+        network.onFetchError(error -> record(Level.SEVERE, error.getTimestamp(),
+                "[network] " + error.getErrorText() + " " + error.getRequest().getMethod() + " " + error.getRequest().getUrl()));
+    }
+
+    private void record(BaseLogEntry entry, String kind) {
+        Level level = entry.getLevel() == LogLevel.ERROR ? Level.SEVERE
+                : entry.getLevel() == LogLevel.WARNING ? Level.WARNING : Level.INFO;
+        record(level, entry.getTimestamp(), "[" + kind + "] " + entry.getText());
+    }
+
+    // ==================== CDP ====================
+
+    /**
+     * Subscribes on the session's own window: a browser shared by several sessions
+     * ({@code base.BrowserContexts}) has other sessions' windows too.
+     */
+    @SuppressWarnings("unchecked")
+    private void subscribeCdp(DevTools devTools, String windowHandle) {
+        devTools.createSessionIfThereIsNotOne(windowHandle);
+        devTools.send(new Command<>("Runtime.enable", Collections.emptyMap()));
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+
+        devTools.addListener(new Event<>("Runtime.consoleAPICalled", AS_MAP), event -> {
+            String type = String.valueOf(event.get("type"));
+            Level level = "error".equals(type) || "assert".equals(type) ? Level.SEVERE
+                    : "warning".equals(type) ? Level.WARNING : Level.INFO;
+            StringBuilder text = new StringBuilder("[console] ");
+            for (Object arg : (List<Object>) event.getOrDefault("args", Collections.emptyList())) {
+                Map<String, Object> remote = (Map<String, Object>) arg;
+                Object value = remote.containsKey("value") ? remote.get("value") : remote.get("description");
+                text.append(value).append(' ');
+            }
+            record(level, timestamp(event), text.toString().trim());
+        });
+
+        devTools.addListener(new Event<>("Runtime.exceptionThrown", AS_MAP), event -> {
+            Map<String, Object> details = (Map<String, Object>) event.get("exceptionDetails");
+            Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+            Object text = exception != null && exception.get("description") != null
+                    ? exception.get("description") : details.get("text");
+            record(Level.SEVERE, timestamp(event), "[exception] " + text);
+        });
+
+        devTools.addListener(new Event<>("Network.requestWillBeSent", AS_MAP), event -> {
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            requests.put(String.valueOf(event.get("requestId")), request.get("method") + " " + request.get("url"));
+        });
+
+        devTools.addListener(new Event<>("Network.loadingFinished", AS_MAP),
+                event -> requests.remove(String.valueOf(event.get("requestId"))));
+
+        devTools.addListener(new Event<>("Network.responseReceived", AS_MAP), event -> {
+            Map<String, Object> response = (Map<String, Object>) event.get("response");
+            int status = ((Number) response.get("status")).intValue();
+            if (status >= 400) {
+                record(status >= 500 ? Level.SEVERE : Level.WARNING, System.currentTimeMillis(),
+                        "[network] " + status + " " + response.get("url"));
+            }
+        });
+
+        devTools.addListener(new Event<>("Network.loadingFailed", AS_MAP), event -> {
+            String requestId = String.valueOf(event.get("requestId"));
+            String request = requests.remove(requestId);
+            if (Boolean.TRUE.equals(event.get("canceled"))) return;
+            // dropped on purpose by the Network.setBlockedURLs blocklist (net::ERR_BLOCKED_BY_CLIENT)
+            Object blockedReason = event.get("blockedReason");
+            record(blockedReason != null ? Level.FINE : Level.SEVERE, System.currentTimeMillis(),
+                    "[network] " + event.get("errorText") + " " + event.getOrDefault("type", "") + " "
+                            + (request != null ? request : "request " + requestId)
+                            + (blockedReason != null ? " (blocked: " + blockedReason + ")" : ""));
+        });
+    }
+
+    /**
+     * CDP Runtime events carry epoch milliseconds as a double.
+     */
+    private static long timestamp(Map<String, Object> event) {
+        Object value = event.get("timestamp");
+        return value instanceof Number ? ((Number) value).longValue() : System.currentTimeMillis();
+    }
+
+    private void record(Level level, long timestamp, String message) {
+        if (open) {
+            buffer.add(new LogEntry(level, timestamp, message));
+        }
+    }
+
+    /**
+     * Stops buffering. BiDi subscriptions are removed; CDP listeners are shared with
+     * the network interceptor on the same connection and simply end with the session.
+     */
+    @Override
+    public void close() {
+        open = false;
+        try {
+            if (logInspector != null) logInspector.close();
+            if (network != null) network.close();
+        } catch (RuntimeException ignored) {
+            // session already gone
+        }
+        buffer.clear();
+        requests.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package diagnostics;
+
+import org.openqa.selenium.logging.LogEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of browser events; when full the oldest entries are
+ * overwritten, so a chatty page costs a bounded amount of memory.
+ */
+public final class EventBuffer {
+
+    private final LogEntry[] entries;
+    private int next;
+    private int size;
+    private long dropped;
+
+    public EventBuffer(int capacity) {
+        this.entries = new LogEntry[Math.max(1, capacity)];
+    }
+
+    public synchronized void add(LogEntry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        if (size < entries.length) {
+            size++;
+        } else {
+            dropped++;
+        }
+    }
+
+    /**
+     * Returns the buffered events oldest first and empties the buffer.
+     */
+    public synchronized List<LogEntry> drain() {
+        List<LogEntry> result = new ArrayList<>(size);
+        int start = (next - size + entries.length) % entries.length;
+        for (int i = 0; i < size; i++) {
+            result.add(entries[(start + i) % entries.length]);
+        }
+        clear();
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Events overwritten since the last drain or clear.
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+}
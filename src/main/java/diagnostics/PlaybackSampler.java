@@ -0,0 +1,243 @@
+package diagnostics;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures playback in the page: time from arming to the first {@code playing} event
+ * of any audio/video element, buffering stalls after that ({@code waiting} until
+ * {@code playing} again) and media position actually advanced, against wall time since
+ * playback started. Media events are hooked on the document in the capture phase for
+ * elements in the page, and on the element itself when {@code play()} is called, so
+ * players that never attach their element to the document are covered too.
+ *
+ * When no media element reports anything, the player's elapsed-time label is read
+ * instead (CSS selector {@code -DplaybackProgressSelector}, default the now-playing
+ * bar's {@code playback-position}; empty turns it off). It only ticks in whole seconds,
+ * so first play is seen up to a second (plus a poll) late and stalls are not counted.
+ *
+ * Arm before clicking Play. Poll interval: {@code -DplaybackPollMillis} (default 500).
+ */
+public final class PlaybackSampler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlaybackSampler.class);
+    private static final Duration POLL = Duration.ofMillis(Long.getLong("playbackPollMillis", 500));
+    private static final String PROGRESS = System.getProperty("playbackProgressSelector",
+            "[data-testid='playback-position']");
+    private static final String MEDIA_EVENTS = "media events";
+    private static final String PROGRESS_LABEL = "progress label";
+
+    private static final String ARM =
+            "window.__playback = {armed: performance.now(), firstPlay: null, stalls: 0, stallMillis: 0,"
+            + " stallStart: null, played: 0, lastTime: null,"
+            + " uiFirstPlay: null, uiPlayed: 0, uiLast: null, uiAt: null};"
+            + "if (!window.__playbackHooked) {"
+            + "  window.__playbackHooked = true;"
+            + "  var types = ['playing', 'waiting', 'timeupdate', 'seeked', 'emptied'];"
+            + "  var track = function (e) {"
+            + "    var p = window.__playback, media = e.target, now = performance.now();"
+            + "    if (!(media instanceof HTMLMediaElement)) return;"
+            // elements hooked directly report there, not through the document too
+            + "    if (e.currentTarget === document && media.__playbackHooked) return;"
+            + "    if (e.type === 'playing') {"
+            + "      if (p.firstPlay === null) p.firstPlay = now;"
+            + "      if (p.stallStart !== null) { p.stallMillis += now - p.stallStart; p.stallStart = null; }"
+            + "      p.lastTime = media.currentTime;"
+            + "    } else if (e.type === 'waiting') {"
+            + "      if (p.firstPlay !== null && p.stallStart === null) { p.stalls++; p.stallStart = now; }"
+            + "    } else if (e.type === 'timeupdate') {"
+            + "      var advanced = p.lastTime === null ? 0 : media.currentTime - p.lastTime;"
+            // a seek or track change jumps further than 5 s between two timeupdate events
+            + "      if (advanced > 0 && advanced < 5) p.played += advanced;"
+            + "      p.lastTime = media.currentTime;"
+            + "    } else if (e.type === 'seeked' || e.type === 'emptied') {"
+            + "      p.lastTime = null;"
+            + "    }"
+            + "  };"
+            + "  types.forEach(function (type) {"
+            + "    document.addEventListener(type, track, true);"
+            + "  });"
+            // a detached element (new Audio(), or one kept out of the DOM) is only reachable here
+            + "  var play = HTMLMediaElement.prototype.play;"
+            + "  HTMLMediaElement.prototype.play = function () {"
+            + "    var media = this;"
+            + "    if (!media.__playbackHooked) {"
+            + "      media.__playbackHooked = true;"
+            + "      types.forEach(function (type) { media.addEventListener(type, track); });"
+            + "    }"
+            + "    return play.apply(media, arguments);"
+            + "  };"
+            + "}"
+            + "return true;";
+
+    private static final String SAMPLE =
+            "var p = window.__playback, now = performance.now();"
+            + "if (!p) return null;"
+            + "var label = arguments[0] ? document.querySelector(arguments[0]) : null;"
+            + "if (label) {"
+            + "  var position = label.textContent.trim().split(':').reduce(function (s, part) {"
+            + "    return s * 60 + Number(part);"
+            + "  }, 0);"
+            + "  if (!isNaN(position)) {"
+            // counts only forward ticks no bigger than the time since the last reading (skips seeks)
+            + "    var advanced = p.uiLast === null ? 0 : position - p.uiLast;"
+            + "    if (advanced > 0 && advanced <= (now - p.uiAt) / 1000 + 1.5) {"
+            + "      if (p.uiFirstPlay === null) p.uiFirstPlay = now;"
+            + "      p.uiPlayed += advanced;"
+            + "    }"
+            + "    p.uiLast = position;"
+            + "    p.uiAt = now;"
+            + "  }"
+            + "}"
+            + "return {armed: p.armed, firstPlay: p.firstPlay, stalls: p.stalls, played: p.played, now: now,"
+            + " stallMillis: p.stallMillis + (p.stallStart !== null ? now - p.stallStart : 0),"
+            + " uiFirstPlay: p.uiFirstPlay, uiPlayed: p.uiPlayed};";
+
+    private final WebDriver driver;
+
+    private PlaybackSampler(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Starts measuring from now, or returns null when the driver cannot run page scripts.
+     */
+    public static PlaybackSampler arm(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) return null;
+        try {
+            if (Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(ARM))) {
+                return new PlaybackSampler(driver);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Playback sampling unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Playback so far; the page was navigated away (and the hooks lost) if this fails.
+     */
+    public PlaybackStats sample() {
+        Object state = ((JavascriptExecutor) driver).executeScript(SAMPLE, PROGRESS);
+        if (!(state instanceof Map)) {
+            throw new IllegalStateException("[PlaybackSampler] Playback state is gone; was the page reloaded?");
+        }
+        Map<?, ?> values = (Map<?, ?>) state;
+        double armed = number(values.get("armed"));
+        double now = number(values.get("now"));
+        Object firstPlay = values.get("firstPlay");
+        if (firstPlay == null && values.get("uiFirstPlay") != null) {
+            // no media element reported playing; the progress label did
+            double uiFirstPlay = number(values.get("uiFirstPlay"));
+            return new PlaybackStats(uiFirstPlay - armed, 0, 0, number(values.get("uiPlayed")),
+                    (now - uiFirstPlay) / 1000.0, PROGRESS_LABEL);
+        }
+        return new PlaybackStats(
+                firstPlay == null ? null : number(firstPlay) - armed,
+                (int) number(values.get("stalls")),
+                number(values.get("stallMillis")),
+                number(values.get("played")),
+                firstPlay == null ? 0 : (now - number(firstPlay)) / 1000.0,
+                MEDIA_EVENTS);
+    }
+
+    /**
+     * Polls until {@code seconds} of media have played or {@code timeout} passes.
+     *
+     * @return the last sample, whether or not enough played
+     */
+    public PlaybackStats awaitPlayed(Duration seconds, Duration timeout) {
+        double required = seconds.toMillis() / 1000.0;
+        try {
+            return new WebDriverWait(driver, timeout, POLL).until(d -> {
+                PlaybackStats stats = sample();
+                return stats.getPlayedSeconds() >= required ? stats : null;
+            });
+        } catch (TimeoutException e) {
+            return sample();
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    /**
+     * One reading of a {@link PlaybackSampler}.
+     */
+    public static final class PlaybackStats {
+        private final Double timeToFirstPlayMillis;
+        private final int stalls;
+        private final double stallMillis;
+        private final double playedSeconds;
+        private final double wallSeconds;
+        private final String signal;
+
+        PlaybackStats(Double timeToFirstPlayMillis, int stalls, double stallMillis, double playedSeconds,
+                      double wallSeconds, String signal) {
+            this.timeToFirstPlayMillis = timeToFirstPlayMillis;
+            this.stalls = stalls;
+            this.stallMillis = stallMillis;
+            this.playedSeconds = playedSeconds;
+            this.wallSeconds = wallSeconds;
+            this.signal = signal;
+        }
+
+        /**
+         * Null while nothing has started playing.
+         */
+        public Double getTimeToFirstPlayMillis() {
+            return timeToFirstPlayMillis;
+        }
+
+        public int getStalls() {
+            return stalls;
+        }
+
+        public double getStallMillis() {
+            return stallMillis;
+        }
+
+        public double getPlayedSeconds() {
+            return playedSeconds;
+        }
+
+        /**
+         * Seconds since playback first started.
+         */
+        public double getWallSeconds() {
+            return wallSeconds;
+        }
+
+        /**
+         * True when no media element reported anything and the reading comes from the
+         * progress label, which can't tell a stall from a pause (stalls read as zero).
+         */
+        public boolean isFromProgressLabel() {
+            return PROGRESS_LABEL.equals(signal);
+        }
+
+        /**
+         * Media seconds played per wall second since playback started; 1.0 is smooth playback.
+         */
+        public double getPlaybackRatio() {
+            return wallSeconds == 0 ? 0 : playedSeconds / wallSeconds;
+        }
+
+        @Override
+        public String toString() {
+            if (timeToFirstPlayMillis == null) return "nothing played (no media events, no progress label)";
+            return String.format(Locale.ROOT,
+                    "first play after %.0f ms, %.1f s played in %.1f s (ratio %.2f), %d stalls totalling %.0f ms, from %s",
+                    timeToFirstPlayMillis, playedSeconds, wallSeconds, getPlaybackRatio(), stalls, stallMillis, signal);
+        }
+    }
+}
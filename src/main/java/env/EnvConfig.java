@@ -1,15 +1,53 @@
 package env;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 public interface EnvConfig {
+    String getName();
+
     String getBaseUrl();
+    void setBaseUrl(String baseUrl);
     String getBrowser();
     boolean isHeadless();
+    void setHeadless(boolean headless);
     int getImplicitWaitSeconds();
     int getPageLoadTimeoutSeconds();
+    String getPerformanceProfile();
+    List<String> getBlockedUrlPatterns();
+    List<String> getAllowedUrlPatterns();
+
+    /**
+     * Origins a logged-in session keeps cookies and storage for, cleared before a retry
+     * or load iteration reuses the browser; the base URL's origin by default.
+     */
+    default List<String> getSessionOrigins() {
+        return Collections.singletonList(origin(getBaseUrl()));
+    }
 
     void applySystemOverrides();
 
     default void loadFromProperties(Properties props) {}
+
+    /**
+     * Scheme, host and port of a URL, e.g. {@code https://open.spotify.com}.
+     */
+    static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Splits a comma-separated system property value, dropping blanks.
+     */
+    static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) items.add(item.trim());
+        }
+        return items;
+    }
 }
@@ -0,0 +1,54 @@
+package env;
+
+import network.HttpArchive;
+import network.HttpMode;
+import network.ReplayServer;
+
+import java.util.Locale;
+
+/**
+ * Resolves the active environment from {@code -Denv=...} (test, preprod, prod)
+ * with system property overrides applied.
+ */
+public final class Environments {
+
+    private Environments() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static EnvConfig load() {
+        return load(System.getProperty("env", "test"));
+    }
+
+    /**
+     * The named environment, e.g. from a suite {@code env} parameter, with the same overrides.
+     */
+    public static EnvConfig load(String name) {
+        EnvConfig envConfig;
+        String envName = name.trim().toLowerCase(Locale.ROOT);
+        switch (envName) {
+            case "prod":
+            case "production":
+                envConfig = new ProdEnv();
+                break;
+            case "preprod":
+            case "pre-prod":
+            case "staging":
+                envConfig = new PreProdEnv();
+                break;
+            case "test":
+            default:
+                envConfig = new TestEnv();
+                break;
+        }
+
+        // allow overrides from system properties
+        envConfig.applySystemOverrides();
+
+        // -DhttpMode=replay: serve the recorded web player from a local stand-in
+        if (HttpMode.current() == HttpMode.REPLAY) {
+            envConfig.setBaseUrl(ReplayServer.start(HttpArchive.shared(), envConfig.getBaseUrl()).getBaseUrl());
+        }
+        return envConfig;
+    }
+}
@@ -1,29 +1,60 @@
 package env;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class PreProdEnv implements EnvConfig {
     private String baseUrl = "https://open.spotify.com/";
     private String browser = "chrome";
     private boolean headless = false;
     private int implicitWaitSeconds = 5;
     private int pageLoadTimeoutSeconds = 60;
+    private String performanceProfile = "throughput";
+    private List<String> blockedUrlPatterns = Arrays.asList("@ads", "@analytics");
+    private List<String> allowedUrlPatterns = Collections.emptyList();
 
     public PreProdEnv() {}
 
+    @Override
+    public String getName() { return "preprod"; }
+
     @Override
     public String getBaseUrl() { return baseUrl; }
 
+    @Override
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
     @Override
     public String getBrowser() { return browser; }
 
     @Override
     public boolean isHeadless() { return headless; }
 
+    @Override
+    public void setHeadless(boolean headless) { this.headless = headless; }
+
     @Override
     public int getImplicitWaitSeconds() { return implicitWaitSeconds; }
 
     @Override
     public int getPageLoadTimeoutSeconds() { return pageLoadTimeoutSeconds; }
 
+    @Override
+    public String getPerformanceProfile() { return performanceProfile; }
+
+    @Override
+    public List<String> getBlockedUrlPatterns() { return blockedUrlPatterns; }
+
+    @Override
+    public List<String> getAllowedUrlPatterns() { return allowedUrlPatterns; }
+
+    @Override
+    public List<String> getSessionOrigins() {
+        // the login form lives on the accounts site
+        return Arrays.asList(EnvConfig.origin(baseUrl), "https://accounts.spotify.com");
+    }
+
     @Override
     public void applySystemOverrides() {
         String b = System.getProperty("browser");
@@ -36,5 +67,11 @@ public class PreProdEnv implements EnvConfig {
         if (iw != null) this.implicitWaitSeconds = Integer.parseInt(iw);
         String pl = System.getProperty("pageLoadTimeout");
         if (pl != null) this.pageLoadTimeoutSeconds = Integer.parseInt(pl);
+        String profile = System.getProperty("perfProfile");
+        if (profile != null && !profile.isEmpty()) this.performanceProfile = profile;
+        String blocked = System.getProperty("blockedUrls");
+        if (blocked != null) this.blockedUrlPatterns = EnvConfig.splitList(blocked);
+        String allowed = System.getProperty("allowedUrls");
+        if (allowed != null) this.allowedUrlPatterns = EnvConfig.splitList(allowed);
     }
 }
@@ -1,29 +1,54 @@
 package env;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class ProdEnv implements EnvConfig {
     private String baseUrl = "https://www.google.com";
     private String browser = "chrome";
     private boolean headless = false;
     private int implicitWaitSeconds = 5;
     private int pageLoadTimeoutSeconds = 120;
+    private String performanceProfile = "default";
+    private List<String> blockedUrlPatterns = Collections.emptyList();
+    private List<String> allowedUrlPatterns = Collections.emptyList();
 
     public ProdEnv() {}
 
+    @Override
+    public String getName() { return "prod"; }
+
     @Override
     public String getBaseUrl() { return baseUrl; }
 
+    @Override
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
     @Override
     public String getBrowser() { return browser; }
 
     @Override
     public boolean isHeadless() { return headless; }
 
+    @Override
+    public void setHeadless(boolean headless) { this.headless = headless; }
+
     @Override
     public int getImplicitWaitSeconds() { return implicitWaitSeconds; }
 
     @Override
     public int getPageLoadTimeoutSeconds() { return pageLoadTimeoutSeconds; }
 
+    @Override
+    public String getPerformanceProfile() { return performanceProfile; }
+
+    @Override
+    public List<String> getBlockedUrlPatterns() { return blockedUrlPatterns; }
+
+    @Override
+    public List<String> getAllowedUrlPatterns() { return allowedUrlPatterns; }
+
     @Override
     public void applySystemOverrides() {
         String b = System.getProperty("browser");
@@ -36,6 +61,12 @@ public class ProdEnv implements EnvConfig {
         if (iw != null) this.implicitWaitSeconds = Integer.parseInt(iw);
         String pl = System.getProperty("pageLoadTimeout");
         if (pl != null) this.pageLoadTimeoutSeconds = Integer.parseInt(pl);
+        String profile = System.getProperty("perfProfile");
+        if (profile != null && !profile.isEmpty()) this.performanceProfile = profile;
+        String blocked = System.getProperty("blockedUrls");
+        if (blocked != null) this.blockedUrlPatterns = EnvConfig.splitList(blocked);
+        String allowed = System.getProperty("allowedUrls");
+        if (allowed != null) this.allowedUrlPatterns = EnvConfig.splitList(allowed);
     }
 }
 
@@ -0,0 +1,192 @@
+package fake;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Handle to a {@link FakeNode}. Like a remote element reference it goes stale once
+ * its node leaves the document or the driver navigates away.
+ */
+final class FakeElement implements WebElement, WrapsDriver {
+
+    private static final Rectangle RECT = new Rectangle(0, 0, 20, 100);
+
+    private final FakeWebDriver driver;
+    private final FakeNode document;
+    private final FakeNode node;
+
+    FakeElement(FakeWebDriver driver, FakeNode document, FakeNode node) {
+        this.driver = driver;
+        this.document = document;
+        this.node = node;
+    }
+
+    private void live() {
+        driver.checkStale(document, node);
+    }
+
+    private void interactable() {
+        live();
+        if (!node.isDisplayed()) {
+            throw new ElementNotInteractableException("[FakeElement] Element is not displayed: " + node);
+        }
+    }
+
+    @Override
+    public void click() {
+        interactable();
+        if ("a".equals(node.getTag()) && node.getAttribute("href") != null) {
+            driver.get(node.getAttribute("href"));
+            return;
+        }
+        driver.click(node);
+    }
+
+    @Override
+    public void submit() {
+        live();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        interactable();
+        node.setValue(node.getValue() + FakeWebDriver.stripKeys(keysToSend));
+        driver.run(node.getOnInput());
+    }
+
+    @Override
+    public void clear() {
+        interactable();
+        node.setValue("");
+        driver.run(node.getOnInput());
+    }
+
+    @Override
+    public String getTagName() {
+        live();
+        return node.getTag();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return getDomProperty(name);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        live();
+        switch (name) {
+            case "value":
+                return node.getValue();
+            case "innerText":
+            case "textContent":
+                return node.renderedText(System.currentTimeMillis());
+            case "className":
+                return node.getAttribute("class");
+            default:
+                return node.getAttribute(name);
+        }
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        live();
+        return node.getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        live();
+        return node.getAttribute("checked") != null || node.getAttribute("selected") != null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        live();
+        return node.isEnabled();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        live();
+        return node.isDisplayed();
+    }
+
+    @Override
+    public String getText() {
+        live();
+        return node.isDisplayed() ? node.renderedText(System.currentTimeMillis()) : "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        live();
+        return driver.find(node, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        live();
+        return FakeWebDriver.first(driver.find(node, by), by);
+    }
+
+    @Override
+    public Point getLocation() {
+        live();
+        return RECT.getPoint();
+    }
+
+    @Override
+    public Dimension getSize() {
+        live();
+        return RECT.getDimension();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        live();
+        return RECT;
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        live();
+        return "display".equals(propertyName) && !node.isDisplayed() ? "none" : "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        live();
+        return target.convertFromPngBytes(Base64.getDecoder().decode(FakeWebDriver.SCREENSHOT));
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return driver;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FakeElement && ((FakeElement) other).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(node);
+    }
+
+    @Override
+    public String toString() {
+        return "[FakeWebDriver] -> " + node;
+    }
+}
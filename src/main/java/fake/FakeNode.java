@@ -0,0 +1,247 @@
+package fake;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Element of the fake DOM. Nodes declared with {@code present=false} stay out of
+ * the document until a script action attaches them; {@code hidden} nodes are in the
+ * document but not displayed.
+ */
+public final class FakeNode {
+
+    private final String tag;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final List<FakeNode> children = new ArrayList<>();
+    private FakeNode parent;
+    private String text = "";
+    private String value = "";
+    private boolean present = true;
+    private boolean hidden;
+    private boolean disabled;
+    private long availableAt;
+    private List<Map<String, Object>> onClick = Collections.emptyList();
+    private List<Map<String, Object>> onInput = Collections.emptyList();
+
+    private FakeNode(String tag) {
+        this.tag = tag.toLowerCase();
+    }
+
+    public static FakeNode element(String tag) {
+        return new FakeNode(tag);
+    }
+
+    // ==================== BUILDER ====================
+
+    public FakeNode attr(String name, String attributeValue) {
+        attributes.put(name, attributeValue);
+        return this;
+    }
+
+    public FakeNode id(String id) {
+        return attr("id", id);
+    }
+
+    public FakeNode text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    public FakeNode value(String value) {
+        this.value = value;
+        return this;
+    }
+
+    public FakeNode hidden(boolean hidden) {
+        this.hidden = hidden;
+        return this;
+    }
+
+    public FakeNode disabled(boolean disabled) {
+        this.disabled = disabled;
+        return this;
+    }
+
+    /**
+     * Leaves the node out of the document until an {@code attach} action.
+     */
+    public FakeNode absent() {
+        this.present = false;
+        return this;
+    }
+
+    public FakeNode child(FakeNode... nodes) {
+        for (FakeNode node : nodes) {
+            node.parent = this;
+            children.add(node);
+        }
+        return this;
+    }
+
+    public FakeNode onClick(List<Map<String, Object>> actions) {
+        this.onClick = actions;
+        return this;
+    }
+
+    public FakeNode onInput(List<Map<String, Object>> actions) {
+        this.onInput = actions;
+        return this;
+    }
+
+    /**
+     * Builds a node from its JSON form, e.g.
+     * {@code {"tag":"button","attrs":{"data-testid":"login-button"},"text":"Log in","onClick":[...]}}.
+     */
+    @SuppressWarnings("unchecked")
+    static FakeNode fromJson(Map<String, Object> json) {
+        FakeNode node = element(String.valueOf(json.getOrDefault("tag", "div")));
+        if (json.containsKey("id")) node.id(String.valueOf(json.get("id")));
+        Map<String, Object> attrs = (Map<String, Object>) json.getOrDefault("attrs", Collections.emptyMap());
+        attrs.forEach((name, attributeValue) -> node.attr(name, String.valueOf(attributeValue)));
+        node.text(String.valueOf(json.getOrDefault("text", "")));
+        node.value(String.valueOf(json.getOrDefault("value", "")));
+        node.hidden(Boolean.TRUE.equals(json.get("hidden")));
+        node.disabled(Boolean.TRUE.equals(json.get("disabled")));
+        if (Boolean.FALSE.equals(json.get("present"))) node.absent();
+        node.onClick((List<Map<String, Object>>) json.getOrDefault("onClick", Collections.emptyList()));
+        node.onInput((List<Map<String, Object>>) json.getOrDefault("onInput", Collections.emptyList()));
+        for (Object child : (List<Object>) json.getOrDefault("children", Collections.emptyList())) {
+            node.child(fromJson((Map<String, Object>) child));
+        }
+        return node;
+    }
+
+    /**
+     * Deep copy, so every navigation starts from the page as declared.
+     */
+    FakeNode copy() {
+        FakeNode copy = element(tag);
+        copy.attributes.putAll(attributes);
+        copy.text = text;
+        copy.value = value;
+        copy.present = present;
+        copy.hidden = hidden;
+        copy.disabled = disabled;
+        copy.onClick = onClick;
+        copy.onInput = onInput;
+        for (FakeNode child : children) {
+            copy.child(child.copy());
+        }
+        return copy;
+    }
+
+    // ==================== STATE ====================
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public String getOwnText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    void setValue(String value) {
+        this.value = value;
+    }
+
+    void setText(String text) {
+        this.text = text;
+    }
+
+    FakeNode getParent() {
+        return parent;
+    }
+
+    List<FakeNode> getChildren() {
+        return children;
+    }
+
+    List<Map<String, Object>> getOnClick() {
+        return onClick;
+    }
+
+    List<Map<String, Object>> getOnInput() {
+        return onInput;
+    }
+
+    void setPresent(boolean present, long availableAt) {
+        this.present = present;
+        this.availableAt = availableAt;
+    }
+
+    void setHidden(boolean hidden, long availableAt) {
+        this.hidden = hidden;
+        this.availableAt = availableAt;
+    }
+
+    /**
+     * Present in the document (and all ancestors too) at {@code now}.
+     */
+    boolean isAttached(long now) {
+        for (FakeNode node = this; node != null; node = node.parent) {
+            if (!node.present || node.availableAt > now) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether a delayed attach or show in this subtree has yet to take effect.
+     */
+    boolean hasPending(long now) {
+        if (availableAt > now) return true;
+        for (FakeNode child : children) {
+            if (child.hasPending(now)) return true;
+        }
+        return false;
+    }
+
+    boolean isDisplayed() {
+        for (FakeNode node = this; node != null; node = node.parent) {
+            if (node.hidden) return false;
+        }
+        return true;
+    }
+
+    boolean isEnabled() {
+        return !disabled;
+    }
+
+    /**
+     * Rendered text of this node and its attached children, like {@code innerText}.
+     */
+    String renderedText(long now) {
+        StringBuilder out = new StringBuilder(text);
+        for (FakeNode child : children) {
+            if (child.present && child.availableAt <= now && !child.hidden) {
+                String childText = child.renderedText(now);
+                if (!childText.isEmpty()) {
+                    if (out.length() > 0) out.append(' ');
+                    out.append(childText);
+                }
+            }
+        }
+        return out.toString().trim();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("<").append(tag);
+        attributes.forEach((name, attributeValue) -> out.append(' ').append(name).append("='").append(attributeValue).append('\''));
+        return out.append('>').toString();
+    }
+}
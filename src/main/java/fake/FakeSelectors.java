@@ -0,0 +1,466 @@
+package fake;
+
+import locators.XPathToCss;
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selector engine of the fake DOM: CSS (type, {@code *}, {@code #id}, {@code .class},
+ * attribute operators, descendant and child combinators, groups) and the XPath
+ * subset the suite uses. XPath goes through {@link XPathToCss} when it has an exact
+ * CSS equivalent; text and positional expressions are evaluated directly.
+ */
+final class FakeSelectors {
+
+    private FakeSelectors() {
+        /* utility class - prevent instantiation */
+    }
+
+    // ==================== CSS ====================
+
+    static List<FakeNode> css(FakeNode context, String selector, long now) {
+        List<FakeNode> result = new ArrayList<>();
+        collect(context, matcher(selector), now, result);
+        return result;
+    }
+
+    /**
+     * Like {@link #css}, but also returns nodes that are not (yet) in the document;
+     * used to resolve script action targets.
+     */
+    static List<FakeNode> cssIncludingDetached(FakeNode context, String selector) {
+        List<FakeNode> result = new ArrayList<>();
+        collect(context, matcher(selector), Long.MIN_VALUE, result);
+        return result;
+    }
+
+    private static Predicate<FakeNode> matcher(String selector) {
+        List<List<Compound>> groups = parseCss(selector);
+        return node -> {
+            for (List<Compound> complex : groups) {
+                if (matches(node, complex, complex.size() - 1)) return true;
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Depth-first document order; {@code now == Long.MIN_VALUE} walks detached subtrees too.
+     */
+    private static void collect(FakeNode context, Predicate<FakeNode> test, long now, List<FakeNode> out) {
+        for (FakeNode child : context.getChildren()) {
+            if (now != Long.MIN_VALUE && !child.isAttached(now)) continue;
+            if (test.test(child)) out.add(child);
+            collect(child, test, now, out);
+        }
+    }
+
+    /**
+     * Right-to-left match; like querySelectorAll, ancestors outside the search context count.
+     */
+    private static boolean matches(FakeNode node, List<Compound> complex, int index) {
+        Compound compound = complex.get(index);
+        if (!compound.matches(node)) return false;
+        if (index == 0) return true;
+
+        FakeNode ancestor = node.getParent();
+        if (compound.childOfPrevious) {
+            return ancestor != null && matches(ancestor, complex, index - 1);
+        }
+        for (; ancestor != null; ancestor = ancestor.getParent()) {
+            if (matches(ancestor, complex, index - 1)) return true;
+        }
+        return false;
+    }
+
+    private static List<List<Compound>> parseCss(String selector) {
+        List<List<Compound>> groups = new ArrayList<>();
+        Cursor in = new Cursor(selector);
+        List<Compound> complex = new ArrayList<>();
+        boolean child = false;
+        while (true) {
+            in.skipSpaces();
+            if (in.done() || in.peek() == ',') {
+                if (complex.isEmpty()) throw invalid(selector);
+                groups.add(complex);
+                if (in.done()) return groups;
+                in.next();
+                complex = new ArrayList<>();
+                continue;
+            }
+            if (in.peek() == '>') {
+                in.next();
+                child = true;
+                continue;
+            }
+            Compound compound = parseCompound(in, selector);
+            compound.childOfPrevious = child;
+            child = false;
+            complex.add(compound);
+        }
+    }
+
+    private static Compound parseCompound(Cursor in, String selector) {
+        Compound compound = new Compound();
+        if (in.peek() == '*') {
+            in.next();
+        } else if (Character.isLetter(in.peek())) {
+            compound.tag = in.identifier().toLowerCase();
+        }
+        while (!in.done()) {
+            char c = in.peek();
+            if (c == '#') {
+                in.next();
+                compound.conditions.add(new Condition("id", "=", in.identifier()));
+            } else if (c == '.') {
+                in.next();
+                compound.conditions.add(new Condition("class", "~=", in.identifier()));
+            } else if (c == '[') {
+                in.next();
+                in.skipSpaces();
+                String name = in.identifier();
+                in.skipSpaces();
+                if (in.peek() == ']') {
+                    in.next();
+                    compound.conditions.add(new Condition(name, null, null));
+                    continue;
+                }
+                String op = in.peek() == '=' ? "=" : in.take(2);
+                if (op.equals("=")) in.next();
+                in.skipSpaces();
+                String value = in.peek() == '\'' || in.peek() == '"' ? in.quoted() : in.identifier();
+                in.skipSpaces();
+                in.expect(']');
+                compound.conditions.add(new Condition(name, op, value));
+            } else if (c == ' ' || c == '>' || c == ',') {
+                break;
+            } else {
+                throw invalid(selector);
+            }
+        }
+        return compound;
+    }
+
+    private static final class Compound {
+        private String tag;
+        private final List<Condition> conditions = new ArrayList<>();
+        private boolean childOfPrevious;
+
+        boolean matches(FakeNode node) {
+            if (tag != null && !tag.equals(node.getTag())) return false;
+            for (Condition condition : conditions) {
+                if (!condition.matches(node)) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class Condition {
+        private final String name;
+        private final String op;
+        private final String value;
+
+        Condition(String name, String op, String value) {
+            this.name = name;
+            this.op = op;
+            this.value = value;
+        }
+
+        boolean matches(FakeNode node) {
+            String actual = "value".equals(name) && "input".equals(node.getTag())
+                    ? node.getValue() : node.getAttribute(name);
+            if (actual == null) return false;
+            if (op == null) return true;
+            switch (op) {
+                case "=":
+                    return actual.equals(value);
+                case "~=":
+                    return Arrays.asList(actual.trim().split("\\s+")).contains(value);
+                case "*=":
+                    return actual.contains(value);
+                case "^=":
+                    return actual.startsWith(value);
+                case "$=":
+                    return actual.endsWith(value);
+                case "|=":
+                    return actual.equals(value) || actual.startsWith(value + "-");
+                default:
+                    return false;
+            }
+        }
+    }
+
+    // ==================== XPATH ====================
+
+    static List<FakeNode> xpath(FakeNode document, FakeNode context, String expression, long now) {
+        String css = XPathToCss.translate(expression);
+        boolean relative = expression.startsWith(".");
+        if (css != null && !relative) {
+            return css(document, css, now);
+        }
+
+        Cursor in = new Cursor(expression.trim());
+        int position = 0;
+        List<FakeNode> result;
+        if (in.peek() == '(') {
+            in.next();
+            result = evaluatePath(in, document, context, now, expression);
+            in.expect(')');
+            in.expect('[');
+            position = Integer.parseInt(in.number());
+            in.expect(']');
+        } else {
+            result = evaluatePath(in, document, context, now, expression);
+        }
+        if (!in.done()) throw invalid(expression);
+        if (position > 0) {
+            return position <= result.size()
+                    ? Collections.singletonList(result.get(position - 1)) : Collections.emptyList();
+        }
+        return result;
+    }
+
+    private static List<FakeNode> evaluatePath(Cursor in, FakeNode document, FakeNode context, long now,
+                                               String expression) {
+        List<FakeNode> current = new ArrayList<>();
+        if (in.peek() == '.') {
+            in.next();
+            current.add(context);
+        } else {
+            current.add(document);
+        }
+
+        while (!in.done() && in.peek() == '/') {
+            in.next();
+            boolean descendants = !in.done() && in.peek() == '/';
+            if (descendants) in.next();
+
+            String test = in.peek() == '*' ? String.valueOf(in.next()) : in.identifier().toLowerCase();
+            List<String> predicates = new ArrayList<>();
+            while (!in.done() && in.peek() == '[') {
+                predicates.add(in.bracketed());
+            }
+
+            Set<FakeNode> next = new LinkedHashSet<>();
+            for (FakeNode node : current) {
+                List<FakeNode> parents = new ArrayList<>();
+                parents.add(node);
+                if (descendants) collect(node, candidate -> true, now, parents);
+                for (FakeNode parent : parents) {
+                    List<FakeNode> matches = new ArrayList<>();
+                    for (FakeNode child : parent.getChildren()) {
+                        if (child.isAttached(now) && ("*".equals(test) || test.equals(child.getTag()))) {
+                            matches.add(child);
+                        }
+                    }
+                    for (String predicate : predicates) {
+                        matches = applyPredicate(matches, predicate, now, expression);
+                    }
+                    next.addAll(matches);
+                }
+            }
+            current = new ArrayList<>(next);
+        }
+        return current;
+    }
+
+    private static List<FakeNode> applyPredicate(List<FakeNode> nodes, String predicate, long now, String expression) {
+        String trimmed = predicate.trim();
+        if (trimmed.matches("\\d+")) {
+            int index = Integer.parseInt(trimmed);
+            return index <= nodes.size() ? Collections.singletonList(nodes.get(index - 1)) : Collections.emptyList();
+        }
+        List<FakeNode> kept = new ArrayList<>();
+        for (FakeNode node : nodes) {
+            boolean all = true;
+            for (String condition : trimmed.split("\\s+and\\s+")) {
+                if (!test(node, condition.trim(), now, expression)) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) kept.add(node);
+        }
+        return kept;
+    }
+
+    private static boolean test(FakeNode node, String condition, long now, String expression) {
+        Cursor in = new Cursor(condition);
+        if (in.peek() == '@') {
+            in.next();
+            String name = in.identifier();
+            in.skipSpaces();
+            if (in.done()) return node.getAttribute(name) != null;
+            in.expect('=');
+            in.skipSpaces();
+            return in.quoted().equals(node.getAttribute(name));
+        }
+
+        String function = in.identifier();
+        in.expect('(');
+        in.skipSpaces();
+        String subject = in.peek() == ')'
+                ? function(function, node, now, expression)
+                : operand(in, node, now, expression);
+        String literal = null;
+        in.skipSpaces();
+        if (in.peek() == ',') {
+            in.next();
+            in.skipSpaces();
+            literal = in.quoted();
+            in.skipSpaces();
+        }
+        in.expect(')');
+        in.skipSpaces();
+
+        switch (function) {
+            case "contains":
+                return subject != null && subject.contains(literal);
+            case "starts-with":
+                return subject != null && subject.startsWith(literal);
+            case "normalize-space":
+                subject = subject == null ? null : subject.trim().replaceAll("\\s+", " ");
+                // fall through - compared like the others
+            case "text":
+            case "name":
+                in.expect('=');
+                in.skipSpaces();
+                return in.quoted().equals(subject);
+            default:
+                throw invalid(expression);
+        }
+    }
+
+    /**
+     * Function argument: {@code @attr}, {@code .}, {@code text()} or {@code name()}.
+     */
+    private static String operand(Cursor in, FakeNode node, long now, String expression) {
+        if (in.peek() == '@') {
+            in.next();
+            return node.getAttribute(in.identifier());
+        }
+        if (in.peek() == '.') {
+            in.next();
+            return node.renderedText(now);
+        }
+        String inner = in.identifier();
+        in.expect('(');
+        in.expect(')');
+        return function(inner, node, now, expression);
+    }
+
+    /**
+     * Zero-argument functions on the context node.
+     */
+    private static String function(String name, FakeNode node, long now, String expression) {
+        switch (name) {
+            case "text":
+                return node.getOwnText();
+            case "name":
+                return node.getTag();
+            case "normalize-space":
+                return node.renderedText(now);
+            default:
+                throw invalid(expression);
+        }
+    }
+
+    private static InvalidSelectorException invalid(String selector) {
+        return new InvalidSelectorException("[FakeSelectors] Unsupported selector: " + selector);
+    }
+
+    // ==================== PARSING ====================
+
+    private static final class Cursor {
+        private final String text;
+        private int index;
+
+        Cursor(String text) {
+            this.text = text;
+        }
+
+        boolean done() {
+            return index >= text.length();
+        }
+
+        char peek() {
+            return done() ? '\0' : text.charAt(index);
+        }
+
+        char next() {
+            return text.charAt(index++);
+        }
+
+        String take(int count) {
+            String result = text.substring(index, Math.min(text.length(), index + count));
+            index += result.length();
+            return result;
+        }
+
+        void skipSpaces() {
+            while (!done() && Character.isWhitespace(peek())) index++;
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw invalid(text);
+            index++;
+        }
+
+        String identifier() {
+            int start = index;
+            while (!done() && (Character.isLetterOrDigit(peek()) || peek() == '-' || peek() == '_' || peek() == ':')) {
+                index++;
+            }
+            return text.substring(start, index);
+        }
+
+        String number() {
+            int start = index;
+            while (!done() && Character.isDigit(peek())) index++;
+            return text.substring(start, index);
+        }
+
+        String quoted() {
+            char quote = next();
+            if (quote != '\'' && quote != '"') throw invalid(text);
+            StringBuilder out = new StringBuilder();
+            while (!done() && peek() != quote) {
+                char c = next();
+                if (c == '\\' && !done()) c = next();
+                out.append(c);
+            }
+            expect(quote);
+            return out.toString();
+        }
+
+        /**
+         * Content of a {@code [...]} block, honouring quotes and nesting.
+         */
+        String bracketed() {
+            expect('[');
+            int start = index;
+            int depth = 1;
+            char quote = 0;
+            while (!done()) {
+                char c = next();
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']' && --depth == 0) {
+                    return text.substring(start, index - 1);
+                }
+            }
+            throw invalid(text);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package fake;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Script for {@link FakeWebDriver}: the pages it serves (by URL regex) and the
+ * per-command latency it injects.
+ *
+ * Loaded from a classpath JSON file ({@code -DfakeSite}, default {@code fake-site.json}):
+ * <pre>
+ * {
+ *   "latencyMillis": 5, "jitterMillis": 5,
+ *   "pages": [
+ *     {"url": "open\\.spotify\\.com/?$", "title": "Spotify", "body": [ nodes ]}
+ *   ]
+ * }
+ * </pre>
+ * Nodes may carry {@code onClick} / {@code onInput} action lists; see {@link FakeWebDriver}
+ * for the supported actions. {@code -DfakeLatencyMs} overrides the scripted latency.
+ */
+public final class FakeSite {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FakeSite.class);
+    private static final Map<String, FakeSite> LOADED = new ConcurrentHashMap<>();
+
+    private final List<Page> pages;
+    private final long latencyMillis;
+    private final long jitterMillis;
+
+    private FakeSite(List<Page> pages, long latencyMillis, long jitterMillis) {
+        this.pages = pages;
+        this.latencyMillis = Long.getLong("fakeLatencyMs", latencyMillis);
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * The site named by {@code -DfakeSite}, or an empty site (blank page for every URL) if it is missing.
+     */
+    public static FakeSite current() {
+        return load(System.getProperty("fakeSite", "fake-site.json"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static FakeSite load(String resource) {
+        return LOADED.computeIfAbsent(resource, name -> {
+            InputStream stream = FakeSite.class.getClassLoader().getResourceAsStream(name);
+            if (stream == null) {
+                LOG.warn("⚠️  Fake site '{}' not found on the classpath, serving blank pages", name);
+                return new FakeSite(Collections.emptyList(), 0, 0);
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                Map<String, Object> json = new Json().toType(reader, Json.MAP_TYPE);
+                Builder builder = builder().latency(
+                        ((Number) json.getOrDefault("latencyMillis", 0)).longValue(),
+                        ((Number) json.getOrDefault("jitterMillis", 0)).longValue());
+                for (Object page : (List<Object>) json.getOrDefault("pages", Collections.emptyList())) {
+                    Map<String, Object> pageJson = (Map<String, Object>) page;
+                    List<FakeNode> body = new ArrayList<>();
+                    for (Object node : (List<Object>) pageJson.getOrDefault("body", Collections.emptyList())) {
+                        body.add(FakeNode.fromJson((Map<String, Object>) node));
+                    }
+                    builder.page(String.valueOf(pageJson.get("url")), String.valueOf(pageJson.getOrDefault("title", "")),
+                            body.toArray(new FakeNode[0]));
+                }
+                return builder.build();
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("[FakeSite] Cannot load " + name + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * First page whose URL pattern is found in {@code url}, or null.
+     */
+    Page find(String url) {
+        for (Page page : pages) {
+            if (page.url.matcher(url).find()) return page;
+        }
+        return null;
+    }
+
+    long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    long getJitterMillis() {
+        return jitterMillis;
+    }
+
+    static final class Page {
+        private final Pattern url;
+        private final String title;
+        private final List<FakeNode> body;
+
+        Page(Pattern url, String title, List<FakeNode> body) {
+            this.url = url;
+            this.title = title;
+            this.body = body;
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        /**
+         * Fresh {@code #document > html > body} tree for one navigation.
+         */
+        FakeNode render() {
+            FakeNode bodyNode = FakeNode.element("body");
+            for (FakeNode node : body) {
+                bodyNode.child(node.copy());
+            }
+            return FakeNode.element("#document").child(FakeNode.element("html").child(bodyNode));
+        }
+    }
+
+    public static final class Builder {
+        private final List<Page> pages = new ArrayList<>();
+        private long latencyMillis;
+        private long jitterMillis;
+
+        private Builder() {
+        }
+
+        public Builder latency(long latencyMillis, long jitterMillis) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            return this;
+        }
+
+        public Builder page(String urlRegex, String title, FakeNode... body) {
+            pages.add(new Page(Pattern.compile(urlRegex), title, Arrays.asList(body)));
+            return this;
+        }
+
+        public FakeSite build() {
+            return new FakeSite(new ArrayList<>(pages), latencyMillis, jitterMillis);
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package fake;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.Logs;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory WebDriver over a scripted {@link FakeSite}, selected with {@code browser=fake}.
+ * Runs the suite without browsers so framework overhead, parallel scaling and listener
+ * contention can be profiled on their own.
+ *
+ * Every command sleeps for the site's latency plus seeded jitter, so runs are repeatable.
+ * Each navigation renders a fresh copy of the page; nodes run their {@code onClick} /
+ * {@code onInput} actions when clicked or typed into:
+ * <ul>
+ *   <li>{@code {"navigate": url}}</li>
+ *   <li>{@code {"attach"|"detach"|"show"|"hide": css, "delayMillis": n}} - delay applies to attach/show</li>
+ *   <li>{@code {"setText": css, "text": value}}</li>
+ *   <li>{@code {"console": message, "level": "SEVERE"}} - shows up in the browser log</li>
+ *   <li>{@code {"if": {"css": css, "matches": regex}, "then": [...], "else": [...]}} - tests the first
+ *       match's value (inputs) or text</li>
+ * </ul>
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot, Interactive, HasCapabilities {
+
+    /** 1x1 transparent PNG. */
+    static final String SCREENSHOT = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+
+    private static final Pattern KEY_CHARS = Pattern.compile("[\\uE000-\\uF8FF]");
+    private static final long POLL_MILLIS = 50;
+
+    private final FakeSite site;
+    private final Random jitter = new Random(42);
+    private final List<LogEntry> browserLog = new ArrayList<>();
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private int historyIndex = -1;
+    private FakeNode document;
+    private String url = "about:blank";
+    private String title = "";
+    private Duration implicitWait = Duration.ZERO;
+    private Duration scriptTimeout = Duration.ofSeconds(30);
+    private Duration pageLoadTimeout = Duration.ofSeconds(300);
+    private Dimension windowSize = new Dimension(1280, 800);
+    private Point windowPosition = new Point(0, 0);
+    private boolean quit;
+
+    public FakeWebDriver(FakeSite site) {
+        this.site = site;
+        this.document = blank();
+    }
+
+    // ==================== NAVIGATION ====================
+
+    @Override
+    public void get(String url) {
+        command();
+        load(url);
+        history.subList(historyIndex + 1, history.size()).clear();
+        history.add(url);
+        historyIndex = history.size() - 1;
+    }
+
+    private void load(String url) {
+        FakeSite.Page page = site.find(url);
+        this.url = url;
+        this.title = page != null ? page.getTitle() : "";
+        this.document = page != null ? page.render() : blank();
+    }
+
+    private static FakeNode blank() {
+        return FakeNode.element("#document").child(FakeNode.element("html").child(FakeNode.element("body")));
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command();
+        return url;
+    }
+
+    @Override
+    public String getTitle() {
+        command();
+        return title;
+    }
+
+    @Override
+    public String getPageSource() {
+        command();
+        StringBuilder out = new StringBuilder("<!DOCTYPE html>");
+        for (FakeNode child : document.getChildren()) {
+            render(child, out, System.currentTimeMillis());
+        }
+        return out.toString();
+    }
+
+    private static void render(FakeNode node, StringBuilder out, long now) {
+        out.append(node);
+        out.append(node.getOwnText());
+        for (FakeNode child : node.getChildren()) {
+            if (child.isAttached(now)) render(child, out, now);
+        }
+        out.append("</").append(node.getTag()).append('>');
+    }
+
+    // ==================== FINDING ====================
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command();
+        return find(document, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command();
+        return first(find(document, by), by);
+    }
+
+    static WebElement first(List<WebElement> found, By by) {
+        if (found.isEmpty()) throw new NoSuchElementException("[FakeWebDriver] Unable to locate element: " + by);
+        return found.get(0);
+    }
+
+    /**
+     * Resolves {@code by} under {@code context}, polling up to the implicit wait while
+     * delayed nodes are still pending. The fake DOM changes only through scripted actions,
+     * so once nothing is pending an empty result is final and the wait ends early.
+     */
+    List<WebElement> find(FakeNode context, By by) {
+        if (!(by instanceof By.Remotable)) {
+            // ByAll, ByChained and friends decompose into remotable lookups
+            return by.findElements(context == document ? this : new FakeElement(this, document, context));
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        long deadline = System.currentTimeMillis() + implicitWait.toMillis();
+        while (true) {
+            long now = System.currentTimeMillis();
+            List<FakeNode> nodes = select(context, parameters.using(), value, now);
+            if (!nodes.isEmpty() || now >= deadline || !document.hasPending(now)) {
+                List<WebElement> elements = new ArrayList<>(nodes.size());
+                for (FakeNode node : nodes) elements.add(new FakeElement(this, document, node));
+                return elements;
+            }
+            sleep(Math.min(POLL_MILLIS, deadline - now));
+        }
+    }
+
+    private List<FakeNode> select(FakeNode context, String using, String value, long now) {
+        switch (using) {
+            case "css selector":
+                return FakeSelectors.css(context, value, now);
+            case "id":
+            case "name":
+                // RemoteWebDriver rewrites these to CSS the same way
+                return FakeSelectors.css(context, "[" + using + "='" + value.replace("'", "\\'") + "']", now);
+            case "class name":
+                return FakeSelectors.css(context, "." + value, now);
+            case "tag name":
+                return FakeSelectors.css(context, value, now);
+            case "xpath":
+                return FakeSelectors.xpath(document, context, value, now);
+            case "link text":
+            case "partial link text":
+                List<FakeNode> links = new ArrayList<>();
+                for (FakeNode link : FakeSelectors.css(context, "a", now)) {
+                    String text = link.renderedText(now);
+                    if ("link text".equals(using) ? text.equals(value) : text.contains(value)) links.add(link);
+                }
+                return links;
+            default:
+                throw new InvalidSelectorException("[FakeWebDriver] Unsupported locator strategy: " + using);
+        }
+    }
+
+    // ==================== SCRIPTED BEHAVIOUR ====================
+
+    /**
+     * Bubbles a click from {@code target} up through its ancestors' handlers.
+     */
+    void click(FakeNode target) {
+        FakeNode clickedIn = document;
+        for (FakeNode node = target; node != null && document == clickedIn; node = node.getParent()) {
+            run(node.getOnClick());
+        }
+    }
+
+    /**
+     * Runs a node's scripted actions; stops after a navigation since the document is gone.
+     */
+    @SuppressWarnings("unchecked")
+    void run(List<Map<String, Object>> actions) {
+        long now = System.currentTimeMillis();
+        for (Map<String, Object> action : actions) {
+            long availableAt = now + number(action.get("delayMillis"));
+            if (action.containsKey("navigate")) {
+                get(String.valueOf(action.get("navigate")));
+                return;
+            } else if (action.containsKey("attach")) {
+                targets(action.get("attach")).forEach(node -> node.setPresent(true, availableAt));
+            } else if (action.containsKey("detach")) {
+                targets(action.get("detach")).forEach(node -> node.setPresent(false, 0));
+            } else if (action.containsKey("show")) {
+                targets(action.get("show")).forEach(node -> node.setHidden(false, availableAt));
+            } else if (action.containsKey("hide")) {
+                targets(action.get("hide")).forEach(node -> node.setHidden(true, 0));
+            } else if (action.containsKey("setText")) {
+                String text = String.valueOf(action.getOrDefault("text", ""));
+                targets(action.get("setText")).forEach(node -> node.setText(text));
+            } else if (action.containsKey("console")) {
+                Level level = Level.parse(String.valueOf(action.getOrDefault("level", "INFO")));
+                browserLog.add(new LogEntry(level, now, String.valueOf(action.get("console"))));
+            } else if (action.containsKey("if")) {
+                Map<String, Object> condition = (Map<String, Object>) action.get("if");
+                List<FakeNode> subject = FakeSelectors.css(document, String.valueOf(condition.get("css")), now);
+                String actual = subject.isEmpty() ? "" : "input".equals(subject.get(0).getTag())
+                        ? subject.get(0).getValue() : subject.get(0).renderedText(now);
+                boolean matched = Pattern.compile(String.valueOf(condition.get("matches"))).matcher(actual).matches();
+                run((List<Map<String, Object>>) action.getOrDefault(matched ? "then" : "else", Collections.emptyList()));
+            } else {
+                throw new IllegalArgumentException("[FakeWebDriver] Unknown action: " + action);
+            }
+        }
+    }
+
+    private List<FakeNode> targets(Object selector) {
+        return FakeSelectors.cssIncludingDetached(document, String.valueOf(selector));
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Current document, to tell live elements from ones left behind by a navigation.
+     */
+    FakeNode getDocument() {
+        return document;
+    }
+
+    static String stripKeys(CharSequence... keys) {
+        StringBuilder out = new StringBuilder();
+        for (CharSequence key : keys) out.append(key);
+        return KEY_CHARS.matcher(out).replaceAll("");
+    }
+
+    void checkStale(FakeNode elementDocument, FakeNode node) {
+        command();
+        if (elementDocument != document || !node.isAttached(System.currentTimeMillis())) {
+            throw new StaleElementReferenceException("[FakeWebDriver] Element is no longer attached: " + node);
+        }
+    }
+
+    /**
+     * Entry point of every command: session check plus injected latency.
+     */
+    void command() {
+        if (quit) throw new NoSuchSessionException("[FakeWebDriver] Session was quit");
+        long latency = site.getLatencyMillis();
+        if (site.getJitterMillis() > 0) latency += jitter.nextInt((int) site.getJitterMillis() + 1);
+        if (latency > 0) sleep(latency);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[FakeWebDriver] Interrupted", e);
+        }
+    }
+
+    // ==================== CAPABILITIES ====================
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        command();
+        if (script.contains("readyState")) return "complete";
+        if (script.contains("navigator.userAgent")) return "FakeWebDriver";
+        if (script.trim().startsWith("return arguments[0]") && args.length > 0) return args[0];
+        // scrolling, focus and other side effects have nothing to do in the fake DOM
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        command();
+        return null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        command();
+        return target.convertFromPngBytes(Base64.getDecoder().decode(SCREENSHOT));
+    }
+
+    @Override
+    public void perform(Collection<Sequence> actions) {
+        // pointer and key sequences only move the virtual mouse
+        command();
+    }
+
+    @Override
+    public void resetInputState() {
+        command();
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return new ImmutableCapabilities("browserName", "fake", "platformName", "any");
+    }
+
+    // ==================== SESSION ====================
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        command();
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        command();
+        return "fake-window-" + Integer.toHexString(System.identityHashCode(this));
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new FakeTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new FakeNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new FakeOptions();
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebDriver: fake on any (" + url + ")";
+    }
+
+    private final class FakeNavigation implements Navigation {
+        @Override
+        public void back() {
+            command();
+            if (historyIndex > 0) load(history.get(--historyIndex));
+        }
+
+        @Override
+        public void forward() {
+            command();
+            if (historyIndex < history.size() - 1) load(history.get(++historyIndex));
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            command();
+            load(url);
+        }
+    }
+
+    /**
+     * A single window with no frames or alerts.
+     */
+    private final class FakeTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return FakeWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return findElement(By.tagName("body"));
+        }
+
+        @Override
+        public org.openqa.selenium.Alert alert() {
+            throw new NoAlertPresentException("[FakeWebDriver] No alert is open");
+        }
+    }
+
+    private final class FakeOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new LinkedHashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new FakeTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new FakeWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            return new Logs() {
+                @Override
+                public LogEntries get(String logType) {
+                    if (!LogType.BROWSER.equals(logType)) return new LogEntries(Collections.emptyList());
+                    // like Chromium, reading the browser log empties it
+                    List<LogEntry> entries = new ArrayList<>(browserLog);
+                    browserLog.clear();
+                    return new LogEntries(entries);
+                }
+
+                @Override
+                public Set<String> getAvailableLogTypes() {
+                    return Collections.singleton(LogType.BROWSER);
+                }
+            };
+        }
+    }
+
+    private final class FakeTimeouts implements Timeouts {
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            implicitWait = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getImplicitWaitTimeout() {
+            return implicitWait;
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            scriptTimeout = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getScriptTimeout() {
+            return scriptTimeout;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            pageLoadTimeout = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getPageLoadTimeout() {
+            return pageLoadTimeout;
+        }
+    }
+
+    private final class FakeWindow implements Window {
+        @Override
+        public Dimension getSize() {
+            return windowSize;
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            windowSize = targetSize;
+        }
+
+        @Override
+        public Point getPosition() {
+            return windowPosition;
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            windowPosition = targetPosition;
+        }
+
+        @Override
+        public void maximize() {
+            windowSize = new Dimension(1920, 1080);
+        }
+
+        @Override
+        public void minimize() {
+            // nothing is drawn anyway
+        }
+
+        @Override
+        public void fullscreen() {
+            maximize();
+        }
+    }
+}
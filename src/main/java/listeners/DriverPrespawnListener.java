@@ -0,0 +1,113 @@
+package listeners;
+
+import base.BaseTest;
+import base.DriverFactory;
+import base.DriverSpawner;
+import env.EnvConfig;
+import env.Environments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feeds {@link DriverSpawner} with the demand of each {@code <test>} block:
+ * one session per {@link BaseTest} method, for the block's {@code browser},
+ * {@code headless} and {@code env} parameters (or the environment defaults).
+ *
+ * Data-provider rows aren't known before the block starts, so a data-driven method
+ * counts as one session up front and asks for one more as each row starts. Whatever
+ * the block didn't use is given back when it finishes.
+ */
+public class DriverPrespawnListener implements ITestListener, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverPrespawnListener.class);
+
+    private final Map<ITestContext, Demand> demands = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ITestContext context) {
+        DriverSpawner spawner = DriverSpawner.shared();
+        if (!spawner.isEnabled()) return;
+
+        int sessions = 0;
+        for (ITestNGMethod method : context.getAllTestMethods()) {
+            if (BaseTest.class.isAssignableFrom(method.getRealClass())) {
+                sessions += Math.max(1, method.getInvocationCount());
+            }
+        }
+        if (sessions == 0) return;
+
+        try {
+            XmlTest test = context.getCurrentXmlTest();
+            String env = test.getParameter("env");
+            EnvConfig envConfig = env != null && !env.isEmpty() ? Environments.load(env) : Environments.load();
+            String headless = test.getParameter("headless");
+            if (headless != null && !headless.isEmpty()) {
+                envConfig.setHeadless(Boolean.parseBoolean(headless));
+            }
+            String browser = test.getParameter("browser");
+            if (browser == null || browser.isEmpty()) {
+                browser = envConfig.getBrowser();
+            }
+            Demand demand = new Demand(new DriverFactory(envConfig), browser, sessions);
+            demands.put(context, demand);
+            spawner.expect(demand.factory, demand.browser, sessions);
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Driver pre-spawning disabled for {}: {}", context.getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        Demand demand = demands.get(result.getTestContext());
+        if (demand == null || !BaseTest.class.isAssignableFrom(result.getMethod().getRealClass())) return;
+
+        demand.started.incrementAndGet();
+        if (result.getMethod().isDataDriven()) {
+            // the next row (if any) gets its session while this one runs
+            demand.expected.incrementAndGet();
+            DriverSpawner.shared().expect(demand.factory, demand.browser, 1);
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        Demand demand = demands.remove(context);
+        if (demand == null) return;
+        int unused = demand.expected.get() - demand.started.get();
+        if (unused > 0) {
+            DriverSpawner.shared().withdraw(demand.factory, demand.browser, unused);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverSpawner.shared().shutdown();
+    }
+
+    /**
+     * Sessions announced for one block and test invocations started so far.
+     */
+    private static final class Demand {
+        private final DriverFactory factory;
+        private final String browser;
+        private final AtomicInteger expected;
+        private final AtomicInteger started = new AtomicInteger();
+
+        Demand(DriverFactory factory, String browser, int expected) {
+            this.factory = factory;
+            this.browser = browser;
+            this.expected = new AtomicInteger(expected);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent outcomes of every test method ({@code class#method}), kept across runs in
+ * {@code -DflakeHistory} (default .flake-history/history.properties, outside target/ so
+ * {@code mvn clean} keeps it; cache that directory on CI) as one letter per run, newest
+ * last, up to {@code -DflakeWindow} (default 20) runs.
+ *
+ * A run is flaky when it passed only on retry or failed on a transient error. A test
+ * whose flake rate reaches {@code -DquarantineFlakeRate} (default 0.3) over at least
+ * {@code -DquarantineMinRuns} (default 5) runs is quarantined for the next run, decided
+ * once when the history is loaded; {@code -Dquarantine=false} quarantines nothing.
+ */
+public final class FlakeHistory {
+
+    /**
+     * Final outcome of one test invocation, after its retries.
+     */
+    public enum Outcome {
+        PASSED('P'), PASSED_ON_RETRY('R'), FAILED_TRANSIENT('T'), FAILED('F');
+
+        private final char code;
+
+        Outcome(char code) {
+            this.code = code;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlakeHistory.class);
+
+    private static final int WINDOW = Integer.getInteger("flakeWindow", 20);
+    private static final int MIN_RUNS = Integer.getInteger("quarantineMinRuns", 5);
+    private static final double QUARANTINE_RATE = Double.parseDouble(System.getProperty("quarantineFlakeRate", "0.3"));
+
+    // after the thresholds it reads on construction
+    private static final FlakeHistory SHARED = new FlakeHistory(
+            Paths.get(System.getProperty("flakeHistory", ".flake-history/history.properties")));
+
+    private final Path file;
+    private final Map<String, String> runs = new ConcurrentHashMap<>();
+    private final Set<String> quarantined;
+
+    private FlakeHistory(Path file) {
+        this.file = file;
+        load();
+        Set<String> found = new TreeSet<>();
+        if (!"false".equalsIgnoreCase(System.getProperty("quarantine"))) {
+            for (String test : runs.keySet()) {
+                if (runs.get(test).length() >= MIN_RUNS && getFlakeRate(test) >= QUARANTINE_RATE) found.add(test);
+            }
+        }
+        quarantined = Collections.unmodifiableSet(found);
+        if (!quarantined.isEmpty()) {
+            LOG.warn("🚧 Quarantined as flaky (rate >= {}): {}", QUARANTINE_RATE, quarantined);
+        }
+    }
+
+    public static FlakeHistory shared() {
+        return SHARED;
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public void record(String test, Outcome outcome) {
+        runs.merge(test, String.valueOf(outcome.code), (previous, latest) -> {
+            String all = previous + latest;
+            return all.length() > WINDOW ? all.substring(all.length() - WINDOW) : all;
+        });
+    }
+
+    /**
+     * Share of the recorded runs of {@code test} that were flaky; 0 without history.
+     */
+    public double getFlakeRate(String test) {
+        String recorded = runs.get(test);
+        if (recorded == null || recorded.isEmpty()) return 0;
+        int flaky = 0;
+        for (char run : recorded.toCharArray()) {
+            if (run == Outcome.PASSED_ON_RETRY.code || run == Outcome.FAILED_TRANSIENT.code) flaky++;
+        }
+        return (double) flaky / recorded.length();
+    }
+
+    public boolean isQuarantined(String test) {
+        return quarantined.contains(test);
+    }
+
+    /**
+     * Tests quarantined for this run.
+     */
+    public Set<String> getQuarantined() {
+        return quarantined;
+    }
+
+    // ==================== PERSISTENCE ====================
+
+    private void load() {
+        if (!Files.exists(file)) return;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties props = new Properties();
+            props.load(reader);
+            for (String name : props.stringPropertyNames()) {
+                runs.put(name, props.getProperty(name));
+            }
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to load flake history {}: {}", file, e.getMessage());
+        }
+    }
+
+    public synchronized void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Properties props = new Properties();
+            props.putAll(runs);
+            Path tmp = Files.createTempFile(dir, "flake-history", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                props.store(writer, "Recent runs per test, newest last: P passed, R passed on retry, "
+                        + "T failed on a transient error, F failed");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to save flake history {}: {}", file, e.getMessage());
+        }
+    }
+}
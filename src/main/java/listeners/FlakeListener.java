@@ -0,0 +1,262 @@
+package listeners;
+
+import base.BaseTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlPackage;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries and flake tracking. Every test without a retry analyzer of its own gets the
+ * {@link RetryAnalyzer} (tests in the {@code load} group excepted), and the final outcome
+ * of every invocation goes into the {@link FlakeHistory}.
+ *
+ * Tests the history quarantines run in a lane of their own: they are taken out of their
+ * {@code <test>} block into a copy named {@code "<block> [quarantine]"} that runs on one
+ * thread after the regular blocks have finished, and their transient failures are
+ * reported as skips so they don't fail the run; hard failures (assertions and anything
+ * else {@link RetryAnalyzer#isTransient} rejects) still fail it. Register after
+ * {@link MatrixListener}.
+ */
+public class FlakeListener implements IAnnotationTransformer, IAlterSuiteListener, IInvokedMethodListener,
+        ISuiteListener, ITestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlakeListener.class);
+
+    private static final String LANE = "quarantine.lane";
+    // a lane gives up waiting for the regular blocks after this long
+    private static final long LANE_WAIT_MINUTES = 60;
+
+    private final Map<String, CountDownLatch> regularBlocks = new ConcurrentHashMap<>();
+    private final Set<String> flakyThisRun = Collections.synchronizedSet(new TreeSet<>());
+
+    // ==================== RETRIES ====================
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (RetryAnalyzer.MAX_RETRIES <= 0) return;
+        Class<? extends IRetryAnalyzer> current = annotation.getRetryAnalyzerClass();
+        // TestNG's own (disabled) default counts as none
+        if (current != null && !current.getName().startsWith("org.testng.")) return;
+        if (Arrays.asList(annotation.getGroups()).contains("load")) return;
+        annotation.setRetryAnalyzer(RetryAnalyzer.class);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        // a class-wide session carries straight on into the retry; nothing left to hold
+        if (method.isTestMethod() && result.getInstance() instanceof BaseTest) {
+            ((BaseTest) result.getInstance()).setRetryPending(false);
+        }
+    }
+
+    /**
+     * Runs before TestNG asks the retry analyzer, so failures that will be retried are
+     * left alone and only final outcomes are recorded.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) return;
+        String test = FlakeHistory.key(result.getMethod().getRealClass().getName(), result.getMethod().getMethodName());
+        RetryAnalyzer analyzer = analyzer(result);
+        FlakeHistory history = FlakeHistory.shared();
+
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            boolean retried = analyzer != null && analyzer.getRetries() > 0;
+            history.record(test, retried ? FlakeHistory.Outcome.PASSED_ON_RETRY : FlakeHistory.Outcome.PASSED);
+            if (retried) flakyThisRun.add(test);
+        } else if (result.getStatus() == ITestResult.FAILURE) {
+            if (analyzer != null && analyzer.willRetry(result)) return;
+            boolean transientFailure = RetryAnalyzer.isTransient(result.getThrowable());
+            history.record(test, transientFailure ? FlakeHistory.Outcome.FAILED_TRANSIENT : FlakeHistory.Outcome.FAILED);
+            if (transientFailure) flakyThisRun.add(test);
+
+            // a quarantined test still fails the run on a real regression
+            if (transientFailure && history.isQuarantined(test)) {
+                Throwable failure = result.getThrowable();
+                SkipException skipped = new SkipException(String.format(Locale.ROOT,
+                        "[FlakeListener] Quarantined test failed (flake rate %.0f%%): %s",
+                        history.getFlakeRate(test) * 100, failure));
+                skipped.initCause(failure);
+                result.setThrowable(skipped);
+                result.setStatus(ITestResult.SKIP);
+                LOG.warn("🚧 Quarantined {} failed; reported as skipped: {}", test, failure.toString());
+            }
+        }
+    }
+
+    private static RetryAnalyzer analyzer(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return analyzer instanceof RetryAnalyzer ? (RetryAnalyzer) analyzer : null;
+    }
+
+    // ==================== QUARANTINE LANE ====================
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        Set<String> quarantined = FlakeHistory.shared().getQuarantined();
+        if (quarantined.isEmpty()) return;
+        for (XmlSuite suite : suites) {
+            // clone() adds the copy to the suite; the list is set in full below
+            List<XmlTest> regular = new ArrayList<>(suite.getTests());
+            List<XmlTest> lanes = new ArrayList<>();
+            int moved = 0;
+            for (XmlTest test : regular) {
+                XmlTest lane = quarantine(test, quarantined);
+                if (lane == null) continue;
+                lanes.add(lane);
+                for (XmlClass xmlClass : lane.getXmlClasses()) moved += xmlClass.getIncludedMethods().size();
+            }
+            List<XmlTest> tests = new ArrayList<>(regular);
+            tests.addAll(lanes);
+            suite.setTests(tests);
+            if (lanes.isEmpty()) continue;
+            LOG.info("🚧 {}: {} quarantined test methods run in {} lane blocks after the others",
+                    suite.getName(), moved, lanes.size());
+        }
+    }
+
+    /**
+     * Takes the quarantined methods out of {@code test}; returns the lane block running them, or null if none.
+     */
+    private static XmlTest quarantine(XmlTest test, Set<String> quarantined) {
+        List<XmlClass> classes = new ArrayList<>(test.getXmlClasses());
+        List<XmlClass> fromPackages = new ArrayList<>();
+        for (XmlPackage xmlPackage : test.getXmlPackages()) {
+            fromPackages.addAll(xmlPackage.getXmlClasses());
+        }
+        classes.addAll(fromPackages);
+
+        List<XmlClass> laneClasses = new ArrayList<>();
+        boolean packageTouched = false;
+        for (XmlClass xmlClass : classes) {
+            List<String> methods = quarantinedMethods(xmlClass, quarantined);
+            if (methods.isEmpty()) continue;
+            List<String> excluded = new ArrayList<>(xmlClass.getExcludedMethods());
+            excluded.addAll(methods);
+            xmlClass.setExcludedMethods(excluded);
+
+            XmlClass laneClass = new XmlClass(xmlClass.getName());
+            List<XmlInclude> included = new ArrayList<>();
+            for (String name : methods) included.add(new XmlInclude(name));
+            laneClass.setIncludedMethods(included);
+            laneClasses.add(laneClass);
+            packageTouched |= fromPackages.contains(xmlClass);
+        }
+        if (laneClasses.isEmpty()) return null;
+        if (packageTouched) {
+            // single methods can only be excluded from classes, so list the package's classes instead
+            test.setXmlPackages(new ArrayList<>());
+            test.setXmlClasses(classes);
+        }
+
+        XmlTest lane = (XmlTest) test.clone();
+        lane.setName(test.getName() + " [quarantine]");
+        Map<String, String> parameters = lane.getLocalParameters();
+        parameters.put(LANE, "true");
+        lane.setParameters(parameters);
+        lane.setXmlPackages(new ArrayList<>());
+        for (XmlClass laneClass : laneClasses) laneClass.setXmlTest(lane);
+        lane.setXmlClasses(laneClasses);
+        lane.setParallel(XmlSuite.ParallelMode.NONE);
+        lane.setThreadCount(1);
+        return lane;
+    }
+
+    private static List<String> quarantinedMethods(XmlClass xmlClass, Set<String> quarantined) {
+        List<String> methods = new ArrayList<>();
+        Class<?> type = xmlClass.getSupportClass();
+        if (type == null) return methods;
+        List<String> included = new ArrayList<>();
+        for (XmlInclude include : xmlClass.getIncludedMethods()) included.add(include.getName());
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (!quarantined.contains(FlakeHistory.key(type.getName(), name)) || methods.contains(name)) continue;
+            if (!included.isEmpty() && !included.contains(name)) continue;
+            if (xmlClass.getExcludedMethods().contains(name)) continue;
+            methods.add(name);
+        }
+        return methods;
+    }
+
+    private static boolean isLane(ITestContext context) {
+        return "true".equals(context.getCurrentXmlTest().getLocalParameters().get(LANE));
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        XmlSuite xmlSuite = suite.getXmlSuite();
+        int regular = 0;
+        boolean lanes = false;
+        for (XmlTest test : xmlSuite.getTests()) {
+            if ("true".equals(test.getLocalParameters().get(LANE))) lanes = true;
+            else regular++;
+        }
+        // sequential blocks run in order, and the lanes come last
+        if (lanes && xmlSuite.getParallel() == XmlSuite.ParallelMode.TESTS) {
+            regularBlocks.put(suite.getName(), new CountDownLatch(regular));
+        }
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+        CountDownLatch regular = regularBlocks.get(context.getSuite().getName());
+        if (regular == null || !isLane(context)) return;
+        try {
+            if (!regular.await(LANE_WAIT_MINUTES, TimeUnit.MINUTES)) {
+                LOG.warn("⚠️  {} starts before the regular blocks finished", context.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        CountDownLatch regular = regularBlocks.get(context.getSuite().getName());
+        if (regular != null && !isLane(context)) regular.countDown();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FlakeHistory history = FlakeHistory.shared();
+        history.save();
+        if (flakyThisRun.isEmpty()) return;
+        List<String> rates = new ArrayList<>();
+        synchronized (flakyThisRun) {
+            for (String test : flakyThisRun) {
+                rates.add(String.format(Locale.ROOT, "%s (%.0f%%)", test, history.getFlakeRate(test) * 100));
+            }
+        }
+        LOG.warn("🎲 Flaky this run (passed on retry or failed transiently), with flake rate: {}", rates);
+    }
+}
@@ -0,0 +1,179 @@
+package listeners;
+
+import org.openqa.selenium.logging.LogEntry;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Streams the boxed browser-console and TestNG log reports straight to a buffered
+ * file writer: one pass over the entries, a shared {@link DateTimeFormatter} and
+ * plain padding instead of {@code String.format}, so a page with tens of thousands
+ * of console entries never has its whole report held in memory.
+ */
+public final class LogReportWriter {
+
+    static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final String TOP = "╔═══════════════════════════════════════════════════════════════╗\n";
+    private static final String MIDDLE = "╠═══════════════════════════════════════════════════════════════╣\n";
+    private static final String BOTTOM = "╚═══════════════════════════════════════════════════════════════╝\n";
+    private static final String SPACES = "                                                  ";
+
+    private LogReportWriter() {
+        /* utility class - prevent instantiation */
+    }
+
+    /**
+     * Level counts of one browser log report.
+     */
+    public static final class Counts {
+        private int errors;
+        private int warnings;
+        private int info;
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public int getWarnings() {
+            return warnings;
+        }
+
+        public int getInfo() {
+            return info;
+        }
+
+        public int getTotal() {
+            return errors + warnings + info;
+        }
+    }
+
+    public static Counts writeBrowserLog(Path file, String testName, List<LogEntry> entries) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            return writeBrowserLog(out, testName, entries);
+        }
+    }
+
+    public static Counts writeBrowserLog(Writer out, String testName, List<LogEntry> entries) throws IOException {
+        out.write(TOP);
+        out.write("║           BROWSER CONSOLE LOGS                                ║\n");
+        out.write("║   Test: ");
+        pad(out, testName, 50);
+        out.write("║\n");
+        out.write(BOTTOM);
+        out.write('\n');
+
+        Counts counts = new Counts();
+        for (LogEntry entry : entries) {
+            Level level = entry.getLevel();
+            out.write('[');
+            pad(out, level.getName(), 7);
+            out.write("] ");
+            TIMESTAMP.formatTo(Instant.ofEpochMilli(entry.getTimestamp()), out);
+            out.write(" - ");
+            out.write(String.valueOf(entry.getMessage()));
+            out.write('\n');
+
+            if (level.equals(Level.SEVERE)) counts.errors++;
+            else if (level.equals(Level.WARNING)) counts.warnings++;
+            else counts.info++;
+        }
+
+        out.write('\n');
+        out.write(TOP);
+        out.write("║   SUMMARY                                                     ║\n");
+        out.write(MIDDLE);
+        summaryLine(out, "║   Total Logs: ", counts.getTotal(), 46);
+        summaryLine(out, "║   🔴 Errors: ", counts.errors, 47);
+        summaryLine(out, "║   🟡 Warnings: ", counts.warnings, 45);
+        summaryLine(out, "║   🔵 Info: ", counts.info, 49);
+        out.write(BOTTOM);
+        return counts;
+    }
+
+    public static void writeTestNGLog(Path file, ITestResult result, String testName, String status) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeTestNGLog(out, result, testName, status);
+        }
+    }
+
+    public static void writeTestNGLog(Writer out, ITestResult result, String testName, String status) throws IOException {
+        out.write(TOP);
+        out.write("║           TESTNG EXECUTION LOGS                               ║\n");
+        out.write("║   Test: ");
+        pad(out, testName, 50);
+        out.write("║\n");
+        out.write(BOTTOM);
+        out.write('\n');
+
+        // Test Information
+        out.write("📋 Test Information:\n");
+        bullet(out, "Test Name: ", result.getMethod().getMethodName());
+        bullet(out, "Test Class: ", result.getTestClass().getName());
+        bullet(out, "Status: ", status);
+        bullet(out, "Start Time: ", new Date(result.getStartMillis()));
+        bullet(out, "End Time: ", new Date(result.getEndMillis()));
+        bullet(out, "Duration: ", ((result.getEndMillis() - result.getStartMillis()) / 1000.0) + " seconds");
+
+        // Parameters
+        Object[] params = result.getParameters();
+        if (params.length > 0) {
+            out.write("\n📌 Test Parameters:\n");
+            for (int i = 0; i < params.length; i++) {
+                bullet(out, "Parameter[" + i + "]: ", params[i]);
+            }
+        }
+
+        // TestNG Reporter Logs
+        List<String> reporterMessages = Reporter.getOutput(result);
+        if (!reporterMessages.isEmpty()) {
+            out.write("\n📢 Reporter Messages:\n");
+            for (String message : reporterMessages) {
+                bullet(out, "", message);
+            }
+        }
+
+        // Test Context
+        out.write("\n🌐 Test Context:\n");
+        bullet(out, "Suite Name: ", result.getTestContext().getSuite().getName());
+        bullet(out, "Test Name: ", result.getTestContext().getName());
+        bullet(out, "Host: ", result.getHost() != null ? result.getHost() : "N/A");
+    }
+
+    private static void bullet(Writer out, String label, Object value) throws IOException {
+        out.write("   • ");
+        out.write(label);
+        out.write(String.valueOf(value));
+        out.write('\n');
+    }
+
+    private static void summaryLine(Writer out, String label, int value, int width) throws IOException {
+        out.write(label);
+        pad(out, Integer.toString(value), width);
+        out.write("║\n");
+    }
+
+    /**
+     * Left-aligns {@code value} in {@code width} columns, like {@code %-<width>s}.
+     */
+    static void pad(Writer out, String value, int width) throws IOException {
+        out.write(value);
+        for (int missing = width - value.length(); missing > 0; missing -= SPACES.length()) {
+            out.write(SPACES, 0, Math.min(missing, SPACES.length()));
+        }
+    }
+}
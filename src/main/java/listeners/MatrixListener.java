@@ -0,0 +1,126 @@
+package listeners;
+
+import env.EnvConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Expands {@code <test>} blocks that declare a browser matrix into one block per
+ * combination and runs the blocks side by side, so a cross-browser run takes about as
+ * long as its slowest browser:
+ *
+ * <pre>
+ * &lt;test name="MusicPlay"&gt;
+ *   &lt;parameter name="matrix.browsers" value="chrome,firefox,edge"/&gt;
+ *   &lt;parameter name="matrix.headless" value="false,true"/&gt;  (optional)
+ *   &lt;parameter name="matrix.envs" value="test,preprod"/&gt;     (optional)
+ *   &lt;classes&gt;...&lt;/classes&gt;                                (or groups, packages)
+ * &lt;/test&gt;
+ * </pre>
+ *
+ * Each combination becomes a block such as {@code "MusicPlay [edge, headless]"} with the
+ * {@code browser}, {@code headless} and {@code env} parameters {@code BaseTest} applies
+ * per instance. {@code -DmatrixBrowsers}, {@code -DmatrixHeadless} and {@code -DmatrixEnvs}
+ * replace an axis of every matrix block for the run.
+ *
+ * The suite switches to {@code parallel="tests"}; every block keeps its own parallel
+ * mode and thread count, and sessions per browser can be capped with
+ * {@code -DbrowserLimits} (see {@code base.ConcurrencyGovernor}).
+ */
+public class MatrixListener implements IAlterSuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MatrixListener.class);
+
+    private static final String BROWSERS = "matrix.browsers";
+    private static final String HEADLESS = "matrix.headless";
+    private static final String ENVS = "matrix.envs";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        for (XmlSuite suite : suites) {
+            List<XmlTest> expanded = new ArrayList<>();
+            int combinations = 0;
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                // pin what the block inherits from the suite before the suite's mode changes
+                test.setParallel(test.getParallel());
+                test.setThreadCount(test.getThreadCount());
+
+                if (!test.getLocalParameters().containsKey(BROWSERS)) {
+                    expanded.add(test);
+                    continue;
+                }
+                for (String browser : axis(test, BROWSERS, "matrixBrowsers")) {
+                    for (String headless : orNone(axis(test, HEADLESS, "matrixHeadless"))) {
+                        for (String env : orNone(axis(test, ENVS, "matrixEnvs"))) {
+                            expanded.add(combination(test, browser, headless, env));
+                            combinations++;
+                        }
+                    }
+                }
+            }
+            if (combinations == 0) continue;
+
+            suite.setTests(expanded);
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(Math.max(suite.getThreadCount(), expanded.size()));
+            LOG.info("🧮 {}: {} matrix combinations, {} <test> blocks run side by side",
+                    suite.getName(), combinations, expanded.size());
+        }
+    }
+
+    /**
+     * A copy of {@code test} for one combination; a null axis value leaves that parameter as it was.
+     */
+    private static XmlTest combination(XmlTest test, String browser, String headless, String env) {
+        XmlTest combination = (XmlTest) test.clone();
+        StringJoiner name = new StringJoiner(", ", test.getName() + " [", "]");
+        name.add(browser);
+        Map<String, String> parameters = combination.getLocalParameters();
+        parameters.remove(BROWSERS);
+        parameters.remove(HEADLESS);
+        parameters.remove(ENVS);
+        parameters.put("browser", browser);
+        if (headless != null) {
+            parameters.put("headless", headless);
+            name.add(Boolean.parseBoolean(headless) ? "headless" : "headed");
+        }
+        if (env != null) {
+            parameters.put("env", env);
+            name.add(env);
+        }
+        combination.setParameters(parameters);
+        combination.setName(name.toString());
+
+        // classes carry a back-reference to their block
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            XmlClass copy = (XmlClass) xmlClass.clone();
+            copy.setXmlTest(combination);
+            classes.add(copy);
+        }
+        combination.setXmlClasses(classes);
+        return combination;
+    }
+
+    private static List<String> axis(XmlTest test, String parameter, String property) {
+        String value = System.getProperty(property);
+        if (value == null || value.trim().isEmpty()) {
+            value = test.getLocalParameters().get(parameter);
+        }
+        return value == null ? Collections.emptyList() : EnvConfig.splitList(value);
+    }
+
+    private static List<String> orNone(List<String> values) {
+        return values.isEmpty() ? Collections.singletonList(null) : values;
+    }
+}
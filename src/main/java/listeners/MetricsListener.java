@@ -0,0 +1,73 @@
+package listeners;
+
+import base.BaseTest;
+import base.DriverFactory;
+import metrics.MetricsExporter;
+import metrics.SuiteMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Feeds {@link SuiteMetrics} with test starts and outcomes, per browser, and runs the
+ * {@link MetricsExporter} for the length of the suite.
+ */
+public class MetricsListener implements ITestListener, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsListener.class);
+    private static final String STARTED = "metrics.started";
+
+    @Override
+    public void onStart(ISuite suite) {
+        MetricsExporter.start();
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        result.setAttribute(STARTED, Boolean.TRUE);
+        SuiteMetrics.shared().testStarted();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finished(result, SuiteMetrics.Outcome.PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        finished(result, SuiteMetrics.Outcome.FAILED);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        finished(result, SuiteMetrics.Outcome.FAILED);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        finished(result, SuiteMetrics.Outcome.SKIPPED);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        SuiteMetrics metrics = SuiteMetrics.shared();
+        LOG.info("📈 {}: {} passed, {} failed, {} skipped, {} tests/min over the last minute", suite.getName(),
+                metrics.getTestCount(SuiteMetrics.Outcome.PASSED), metrics.getTestCount(SuiteMetrics.Outcome.FAILED),
+                metrics.getTestCount(SuiteMetrics.Outcome.SKIPPED), String.format("%.1f", metrics.getTestsPerMinute()));
+        MetricsExporter.stop();
+    }
+
+    private void finished(ITestResult result, SuiteMetrics.Outcome outcome) {
+        // tests skipped by a failed dependency or configuration never started
+        boolean started = result.removeAttribute(STARTED) != null;
+        SuiteMetrics.shared().testFinished(browser(result), outcome, started);
+    }
+
+    private String browser(ITestResult result) {
+        Object instance = result.getInstance();
+        return instance instanceof BaseTest ? DriverFactory.normalize(((BaseTest) instance).getBrowserName()) : null;
+    }
+}
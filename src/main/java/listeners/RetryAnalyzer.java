@@ -0,0 +1,83 @@
+package listeners;
+
+import base.BaseTest;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+
+/**
+ * Retries a failed test up to {@code -DmaxRetries} times (default 1) when the failure is
+ * transient: a wait or script timeout, a stale element, or a network error. Assertion
+ * failures and everything else fail straight away. The test's browser session is kept
+ * for the retry if it still answers (see {@link BaseTest#setRetryPending}), so a retry
+ * costs the test itself rather than another browser start.
+ *
+ * Attached to every test by {@link FlakeListener}.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryAnalyzer.class);
+    static final int MAX_RETRIES = Integer.getInteger("maxRetries", 1);
+
+    // page loads that failed on the network, as Chrome/Edge and Firefox report them
+    private static final String[] NETWORK_ERRORS = {"net::ERR_", "about:neterror"};
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (!willRetry(result)) return false;
+        retries++;
+        LOG.warn("🔁 Retrying {} ({}/{}) after {}", result.getName(), retries, MAX_RETRIES,
+                result.getThrowable().getClass().getSimpleName());
+        if (result.getInstance() instanceof BaseTest) {
+            ((BaseTest) result.getInstance()).setRetryPending(true);
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@link #retry} will retry this failure; no side effects.
+     */
+    boolean willRetry(ITestResult result) {
+        return retries < MAX_RETRIES && isTransient(result.getThrowable());
+    }
+
+    int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Whether {@code failure}, or anything it was caused by, is a timeout, stale element or network error.
+     */
+    public static boolean isTransient(Throwable failure) {
+        if (failure instanceof AssertionError) return false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof ScriptTimeoutException
+                    || cause instanceof StaleElementReferenceException
+                    || cause instanceof UnreachableBrowserException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof HttpTimeoutException
+                    || cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause instanceof WebDriverException && cause.getMessage() != null) {
+                for (String error : NETWORK_ERRORS) {
+                    if (cause.getMessage().contains(error)) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
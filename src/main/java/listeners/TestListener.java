@@ -1,6 +1,7 @@
 package listeners;
 
 import base.BaseTest;
+import diagnostics.BrowserEvents;
 import env.EnvConfig;
 import io.qameta.allure.Allure;
 import org.monte.media.Format;
@@ -10,33 +11,51 @@ import org.monte.screenrecorder.ScreenRecorder;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+import org.testng.xml.XmlSuite;
+import utils.LogContext;
+import utils.SideWork;
 
 import java.awt.*;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
-import java.util.logging.Level;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.monte.media.FormatKeys.*;
 import static org.monte.media.VideoFormatKeys.*;
 
 /**
  * TestNG Listener that captures screenshots, videos, and logs ONLY on test failure
- * and attaches them to Allure reports.
+ * and attaches them to Allure reports. Allure history is prepared once per suite,
+ * since {@code <test>} blocks may run side by side.
+ *
+ * Headless mode is tracked per {@code <test>} block and the recorder per test result.
+ * Desktop video is off while blocks run side by side: every recording would show
+ * the whole screen, i.e. the other blocks' browsers too.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestListener.class);
 
     private static final String ALLURE_RESULTS_FOLDER = "C:\\Users\\raxit\\IdeaProjects\\selenium2\\target\\allure-results";
     private static final String ALLURE_REPORT_FOLDER = "C:\\Users\\raxit\\IdeaProjects\\selenium2\\target\\site\\allure-maven-plugin";
@@ -44,56 +63,60 @@ public class TestListener implements ITestListener {
     private static final String SCREENSHOT_FOLDER = "C:\\Users\\raxit\\IdeaProjects\\selenium2\\target\\allure-results\\screenshots";
     private static final String LOG_FOLDER = "C:\\Users\\raxit\\IdeaProjects\\selenium2\\target\\allure-results\\logs";
 
-    private ScreenRecorder screenRecorder;
-    private String currentTestName;
-    private boolean testFailed = false;
-    private boolean isHeadlessMode = false;
+    private static final String RECORDER_ATTRIBUTE = "listeners.TestListener.recorder";
+
+    private final Map<ITestContext, Boolean> headlessByBlock = new ConcurrentHashMap<>();
+    private final AtomicInteger runningBlocks = new AtomicInteger();
+    private volatile boolean blocksSideBySide;
 
     @Override
     public void onStart(ITestContext context) {
-        System.out.println("========================================");
-        System.out.println("📊 Test Suite Started: " + context.getName());
-        System.out.println("========================================");
+        LOG.info("========================================");
+        LOG.info("📊 Test Suite Started: {}", context.getName());
+        LOG.info("========================================");
 
         // Detect headless mode
-        detectHeadlessMode(context);
+        headlessByBlock.put(context, detectHeadlessMode(context));
+        runningBlocks.incrementAndGet();
 
         // Create necessary directories
         createDirectories();
 
-        // Copy history from previous report (for trends)
-        copyAllureHistory();
-
         // Create environment properties for Allure dashboard
         createEnvironmentProperties(context);
     }
 
     @Override
     public void onTestStart(ITestResult result) {
-        currentTestName = getTestName(result);
-        testFailed = false;
-        System.out.println("\n▶️  Starting Test: " + currentTestName);
-
-        // Start video recording only if NOT in headless mode
-        if (!isHeadlessMode) {
-            startVideoRecording(currentTestName);
+        String testName = getTestName(result);
+        LogContext.enter(testName, getRowIndex(result), getBrowserName(result));
+        LOG.info("▶️  Starting Test: {}", testName);
+
+        // Start video recording only if NOT in headless mode, and this block has the screen to itself
+        if (Boolean.TRUE.equals(headlessByBlock.get(result.getTestContext()))) {
+            LOG.info("🎥 Video recording disabled (headless mode detected)");
+        } else if (blocksSideBySide || runningBlocks.get() > 1) {
+            LOG.info("🎥 Video recording disabled (<test> blocks running side by side)");
         } else {
-            System.out.println("🎥 Video recording disabled (headless mode detected)");
+            startVideoRecording(result, testName);
         }
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("✅ Test Passed: " + getTestName(result));
+        LOG.info("✅ Test Passed: {}", getTestName(result));
+
+        // Passed - streamed browser events are not needed
+        clearBrowserEvents(result);
 
         // Stop and DELETE video for passed tests
-        stopVideoRecording(true);
+        stopVideoRecording(result, true);
+        LogContext.clear();
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        testFailed = true;
-        System.out.println("❌ Test Failed: " + getTestName(result));
+        LOG.warn("❌ Test Failed: {}", getTestName(result));
 
         WebDriver driver = getDriverFromTest(result);
         String testName = getTestName(result);
@@ -103,27 +126,28 @@ public class TestListener implements ITestListener {
             captureScreenshot(driver, testName);
 
             // 2. Capture ALL Logs (Browser Console, TestNG, Custom Application)
-            captureBrowserLogs(driver, testName);
+            captureBrowserLogs(result, driver, testName);
             captureTestNGLogs(result, testName);
 
             // 3. Stop video recording and KEEP it
-            stopVideoRecording(false);
+            stopVideoRecording(result, false);
         } else {
-            System.out.println("⚠️  WebDriver is null, cannot capture screenshot or logs");
-            stopVideoRecording(false);
+            LOG.warn("⚠️  WebDriver is null, cannot capture screenshot or logs");
+            stopVideoRecording(result, false);
         }
 
         // 4. Attach exception details
         attachExceptionDetails(result);
+        LogContext.clear();
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("⏭️  Test Skipped: " + getTestName(result));
+        LOG.info("⏭️  Test Skipped: {}", getTestName(result));
 
         // Check if test was skipped due to an exception (broken test)
         if (result.getThrowable() != null) {
-            System.out.println("⚠️  Test skipped due to exception - capturing artifacts");
+            LOG.warn("⚠️  Test skipped due to exception - capturing artifacts");
 
             WebDriver driver = getDriverFromTest(result);
             String testName = getTestName(result);
@@ -131,48 +155,78 @@ public class TestListener implements ITestListener {
             if (driver != null) {
                 // Capture artifacts for broken tests
                 captureScreenshot(driver, testName);
-                captureBrowserLogs(driver, testName);
+                captureBrowserLogs(result, driver, testName);
                 captureTestNGLogs(result, testName);
-                stopVideoRecording(false); // Keep video
+                stopVideoRecording(result, false); // Keep video
             } else {
-                System.out.println("⚠️  WebDriver is null, cannot capture artifacts");
-                stopVideoRecording(false);
+                LOG.warn("⚠️  WebDriver is null, cannot capture artifacts");
+                stopVideoRecording(result, false);
             }
 
             // Attach exception details
             attachExceptionDetails(result);
         } else {
             // Delete video for normally skipped tests
-            stopVideoRecording(true);
+            clearBrowserEvents(result);
+            stopVideoRecording(result, true);
         }
+        LogContext.clear();
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        System.out.println("\n========================================");
-        System.out.println("📊 Test Suite Finished: " + context.getName());
-        System.out.println("✅ Passed: " + context.getPassedTests().size());
-        System.out.println("❌ Failed: " + context.getFailedTests().size());
-        System.out.println("⏭️  Skipped: " + context.getSkippedTests().size());
-        System.out.println("========================================\n");
+        headlessByBlock.remove(context);
+        runningBlocks.decrementAndGet();
+        LOG.info("========================================");
+        LOG.info("📊 Test Suite Finished: {}", context.getName());
+        LOG.info("✅ Passed: {}", context.getPassedTests().size());
+        LOG.info("❌ Failed: {}", context.getFailedTests().size());
+        LOG.info("⏭️  Skipped: {}", context.getSkippedTests().size());
+        LOG.info("========================================");
+    }
 
+    @Override
+    public void onStart(ISuite suite) {
+        createDirectories();
+
+        XmlSuite xmlSuite = suite.getXmlSuite();
+        blocksSideBySide = xmlSuite.getParallel() == XmlSuite.ParallelMode.TESTS
+                && xmlSuite.getThreadCount() > 1 && xmlSuite.getTests().size() > 1;
+
+        // Copy history from previous report (for trends) - file I/O runs off the worker thread
+        LOG.info("🧵 Listener file I/O on {}", SideWork.describe());
+        SideWork.submit("Allure history copy", this::copyAllureHistory);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
         // Ensure history directory exists in allure-results for next run
-        createHistoryPlaceholder();
+        SideWork.submit("History placeholder", this::createHistoryPlaceholder);
+
+        // Artifacts must be on disk before the report is generated
+        SideWork.awaitQuiet(60, TimeUnit.SECONDS);
     }
 
     // ==================== ENVIRONMENT PROPERTIES ====================
 
     /**
-     * Detects if tests are running in headless mode
+     * Detects if the tests of a {@code <test>} block run in headless mode
      */
-    private void detectHeadlessMode(ITestContext context) {
+    private boolean detectHeadlessMode(ITestContext context) {
         try {
             // Check system property
             String headlessProperty = System.getProperty("headless");
             if ("true".equalsIgnoreCase(headlessProperty)) {
-                isHeadlessMode = true;
-                System.out.println("🔍 Headless mode detected via system property");
-                return;
+                LOG.info("🔍 Headless mode detected via system property");
+                return true;
+            }
+
+            // Check the <test> parameter (BaseTest applies it per instance, after this runs)
+            String headlessParameter = context.getCurrentXmlTest().getParameter("headless");
+            if (headlessParameter != null && !headlessParameter.isEmpty()) {
+                boolean headless = Boolean.parseBoolean(headlessParameter);
+                LOG.info("🔍 Headless mode {} via test parameter", headless ? "detected" : "off");
+                return headless;
             }
 
             // Try to get from BaseTest instance
@@ -184,16 +238,17 @@ public class TestListener implements ITestListener {
                         BaseTest baseTest = (BaseTest) testInstance;
                         EnvConfig envConfig = baseTest.getEnvConfig();
                         if (envConfig != null && envConfig.isHeadless()) {
-                            isHeadlessMode = true;
-                            System.out.println("🔍 Headless mode detected via EnvConfig");
+                            LOG.info("🔍 Headless mode detected via EnvConfig");
+                            return true;
                         }
                     }
                 }
             }
         } catch (Exception e) {
             // If detection fails, assume non-headless
-            System.out.println("⚠️  Could not detect headless mode, assuming GUI mode");
+            LOG.warn("⚠️  Could not detect headless mode, assuming GUI mode");
         }
+        return false;
     }
 
     /**
@@ -205,15 +260,15 @@ public class TestListener implements ITestListener {
             Path mavenPluginHistory = Paths.get(ALLURE_REPORT_FOLDER, "history");
             Path resultsHistory = Paths.get(ALLURE_RESULTS_FOLDER, "history");
 
-            System.out.println("📊 Looking for Allure history...");
-            System.out.println("   Checking: " + mavenPluginHistory);
+            LOG.info("📊 Looking for Allure history...");
+            LOG.info("   Checking: {}", mavenPluginHistory);
 
             // Check if Maven plugin history exists and has files
             if (Files.exists(mavenPluginHistory) && Files.isDirectory(mavenPluginHistory)) {
                 File[] historyFiles = mavenPluginHistory.toFile().listFiles();
 
                 if (historyFiles != null && historyFiles.length > 0) {
-                    System.out.println("   Found " + historyFiles.length + " history files");
+                    LOG.info("   Found {} history files", historyFiles.length);
 
                     // Delete old history in results
                     if (Files.exists(resultsHistory)) {
@@ -223,18 +278,17 @@ public class TestListener implements ITestListener {
                     // Copy history
                     copyDirectory(mavenPluginHistory.toFile(), resultsHistory.toFile());
 
-                    System.out.println("✅ Allure history copied successfully!");
-                    System.out.println("   History files preserved for trend graphs");
+                    LOG.info("✅ Allure history copied successfully!");
+                    LOG.info("   History files preserved for trend graphs");
                     return;
                 }
             }
 
-            System.out.println("⚠️  No previous Allure history found");
-            System.out.println("   After generating report with 'mvn allure:report', run tests again");
+            LOG.warn("⚠️  No previous Allure history found");
+            LOG.info("   After generating report with 'mvn allure:report', run tests again");
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to copy Allure history: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Failed to copy Allure history: {}", e.getMessage(), e);
         }
     }
 
@@ -294,7 +348,7 @@ public class TestListener implements ITestListener {
             String marker = "Allure History Marker\nCreated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
             Files.write(markerFile, marker.getBytes());
 
-            System.out.println("📊 History directory prepared for next run");
+            LOG.info("📊 History directory prepared for next run");
         } catch (Exception e) {
             // Silent fail - not critical
         }
@@ -333,6 +387,7 @@ public class TestListener implements ITestListener {
                 properties.append("Headless.Mode=").append(envConfig.isHeadless() ? "Yes" : "No").append("\n");
                 properties.append("Implicit.Wait=").append(envConfig.getImplicitWaitSeconds()).append(" seconds\n");
                 properties.append("Page.Load.Timeout=").append(envConfig.getPageLoadTimeoutSeconds()).append(" seconds\n");
+                properties.append("Performance.Profile=").append(envConfig.getPerformanceProfile()).append("\n");
 
                 // System Information
                 properties.append("\n# System Information\n");
@@ -348,12 +403,14 @@ public class TestListener implements ITestListener {
 
                 // Write to file
                 Path envPropertiesPath = Paths.get(ALLURE_RESULTS_FOLDER, "environment.properties");
-                Files.write(envPropertiesPath, properties.toString().getBytes());
-
-                System.out.println("🌐 Environment properties file created for Allure dashboard");
+                byte[] content = properties.toString().getBytes();
+                SideWork.submit("environment.properties write", () -> {
+                    Files.write(envPropertiesPath, content);
+                    LOG.info("🌐 Environment properties file created for Allure dashboard");
+                });
             }
         } catch (Exception e) {
-            System.err.println("⚠️  Failed to create environment.properties: " + e.getMessage());
+            LOG.warn("⚠️  Failed to create environment.properties: {}", e.getMessage());
             // Don't fail the test if environment file creation fails
         }
     }
@@ -381,7 +438,7 @@ public class TestListener implements ITestListener {
             // Save to file
             String fileName = testName + "_" + getTimestamp() + ".png";
             Path screenshotPath = Paths.get(SCREENSHOT_FOLDER, fileName);
-            Files.write(screenshotPath, screenshot);
+            SideWork.submit("Screenshot write", () -> Files.write(screenshotPath, screenshot));
 
             // Attach to Allure - try/catch to prevent errors
             try {
@@ -389,18 +446,18 @@ public class TestListener implements ITestListener {
                         new ByteArrayInputStream(screenshot), "png");
             } catch (Exception allureEx) {
                 // Allure lifecycle not ready, but file is saved
-                System.out.println("⚠️  Allure attachment skipped (file saved locally)");
+                LOG.warn("⚠️  Allure attachment skipped (file saved locally)");
             }
 
-            System.out.println("📸 Screenshot captured: " + fileName);
+            LOG.info("📸 Screenshot captured: {}", fileName);
         } catch (Exception e) {
-            System.err.println("❌ Failed to capture screenshot: " + e.getMessage());
+            LOG.error("❌ Failed to capture screenshot: {}", e.getMessage());
         }
     }
 
     // ==================== VIDEO RECORDING ====================
 
-    private void startVideoRecording(String testName) {
+    private void startVideoRecording(ITestResult result, String testName) {
         try {
             GraphicsConfiguration gc = GraphicsEnvironment
                     .getLocalGraphicsEnvironment()
@@ -409,7 +466,7 @@ public class TestListener implements ITestListener {
 
             File videoFolder = new File(VIDEO_FOLDER);
 
-            this.screenRecorder = new SpecializedScreenRecorder(
+            ScreenRecorder screenRecorder = new SpecializedScreenRecorder(
                     gc,
                     gc.getBounds(),
                     new Format(MediaTypeKey, FormatKeys.MediaType.FILE, MimeTypeKey, MIME_AVI),
@@ -425,14 +482,15 @@ public class TestListener implements ITestListener {
             );
 
             screenRecorder.start();
-            System.out.println("🎥 Video recording started for: " + testName);
+            result.setAttribute(RECORDER_ATTRIBUTE, screenRecorder);
+            LOG.info("🎥 Video recording started for: {}", testName);
         } catch (Exception e) {
-            System.err.println("❌ Failed to start video recording: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("❌ Failed to start video recording: {}", e.getMessage(), e);
         }
     }
 
-    private void stopVideoRecording(boolean deleteVideo) {
+    private void stopVideoRecording(ITestResult result, boolean deleteVideo) {
+        ScreenRecorder screenRecorder = (ScreenRecorder) result.removeAttribute(RECORDER_ATTRIBUTE);
         if (screenRecorder != null) {
             try {
                 screenRecorder.stop();
@@ -444,25 +502,25 @@ public class TestListener implements ITestListener {
 
                     if (deleteVideo) {
                         // Delete video for passed/skipped tests
-                        if (videoFile.delete()) {
-                            System.out.println("🗑️  Video deleted (test passed/skipped)");
-                        }
+                        SideWork.submit("Video delete", () -> {
+                            if (videoFile.delete()) {
+                                LOG.info("🗑️  Video deleted (test passed/skipped)");
+                            }
+                        });
                     } else {
                         // Keep and attach video to Allure for failed tests
                         try {
                             byte[] videoBytes = Files.readAllBytes(videoFile.toPath());
-                            Allure.addAttachment("Video Recording - " + currentTestName, "video/avi",
+                            Allure.addAttachment("Video Recording - " + getTestName(result), "video/avi",
                                     new ByteArrayInputStream(videoBytes), "avi");
-                            System.out.println("🎥 Video saved and attached to Allure: " + videoFile.getName());
+                            LOG.info("🎥 Video saved and attached to Allure: {}", videoFile.getName());
                         } catch (IOException e) {
-                            System.err.println("❌ Failed to attach video to Allure: " + e.getMessage());
+                            LOG.error("❌ Failed to attach video to Allure: {}", e.getMessage());
                         }
                     }
                 }
             } catch (Exception e) {
-                System.err.println("❌ Failed to stop video recording: " + e.getMessage());
-            } finally {
-                screenRecorder = null;
+                LOG.error("❌ Failed to stop video recording: {}", e.getMessage());
             }
         }
     }
@@ -470,61 +528,30 @@ public class TestListener implements ITestListener {
     // ==================== LOG CAPTURE ====================
 
     /**
-     * Captures Browser Console Logs (errors, warnings, info)
+     * Captures Browser Console Logs (errors, warnings, info): the events streamed during
+     * the test when the session supports it, otherwise a one-off pull of the browser log
      */
-    private void captureBrowserLogs(WebDriver driver, String testName) {
+    private void captureBrowserLogs(ITestResult result, WebDriver driver, String testName) {
         try {
-            LogEntries logEntries = driver.manage().logs().get(LogType.BROWSER);
-            StringBuilder logBuilder = new StringBuilder();
-            logBuilder.append("╔═══════════════════════════════════════════════════════════════╗\n");
-            logBuilder.append("║           BROWSER CONSOLE LOGS                                ║\n");
-            logBuilder.append("║   Test: ").append(String.format("%-50s", testName)).append("║\n");
-            logBuilder.append("╚═══════════════════════════════════════════════════════════════╝\n\n");
-
-            int errorCount = 0;
-            int warningCount = 0;
-            int infoCount = 0;
-
-            for (LogEntry entry : logEntries) {
-                String logLevel = entry.getLevel().toString();
-                String logMessage = entry.getMessage();
-
-                logBuilder.append("[").append(String.format("%-7s", entry.getLevel())).append("] ")
-                        .append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(entry.getTimestamp())))
-                        .append(" - ").append(logMessage).append("\n");
-
-                if (entry.getLevel().equals(Level.SEVERE)) errorCount++;
-                else if (entry.getLevel().equals(Level.WARNING)) warningCount++;
-                else infoCount++;
-            }
-
-            logBuilder.append("\n╔═══════════════════════════════════════════════════════════════╗\n");
-            logBuilder.append("║   SUMMARY                                                     ║\n");
-            logBuilder.append("╠═══════════════════════════════════════════════════════════════╣\n");
-            logBuilder.append("║   Total Logs: ").append(String.format("%-46s", logEntries.getAll().size())).append("║\n");
-            logBuilder.append("║   🔴 Errors: ").append(String.format("%-47s", errorCount)).append("║\n");
-            logBuilder.append("║   🟡 Warnings: ").append(String.format("%-45s", warningCount)).append("║\n");
-            logBuilder.append("║   🔵 Info: ").append(String.format("%-49s", infoCount)).append("║\n");
-            logBuilder.append("╚═══════════════════════════════════════════════════════════════╝\n");
+            BrowserEvents events = getBrowserEventsFromTest(result);
+            List<LogEntry> entries = events != null
+                    ? events.drain()
+                    : driver.manage().logs().get(LogType.BROWSER).getAll();
 
-            String logContent = logBuilder.toString();
-
-            // Save to file
             String fileName = testName + "_browser_" + getTimestamp() + ".log";
             Path logPath = Paths.get(LOG_FOLDER, fileName);
-            Files.write(logPath, logContent.getBytes());
-
-            // Attach to Allure
-            try {
-                Allure.addAttachment("Browser Console Logs - " + testName, "text/plain", logContent, "log");
-            } catch (Exception allureEx) {
-                System.out.println("⚠️  Allure browser log attachment skipped (file saved locally)");
-            }
-
-            System.out.println("📝 Browser logs captured: " + fileName);
-            System.out.println("   🔴 Errors: " + errorCount + " | 🟡 Warnings: " + warningCount + " | 🔵 Info: " + infoCount);
+            String attachment = prepareAttachment("Browser Console Logs - " + testName);
+
+            // Format and write off the test thread; the report is streamed, never held as one String
+            SideWork.submit("Browser log write", () -> {
+                LogReportWriter.Counts counts = LogReportWriter.writeBrowserLog(logPath, testName, entries);
+                writeAttachment(attachment, logPath);
+                LOG.info("📝 Browser logs captured: {}", fileName);
+                LOG.info("   🔴 Errors: {} | 🟡 Warnings: {} | 🔵 Info: {}",
+                        counts.getErrors(), counts.getWarnings(), counts.getInfo());
+            });
         } catch (Exception e) {
-            System.err.println("❌ Failed to capture browser logs: " + e.getMessage());
+            LOG.error("❌ Failed to capture browser logs: {}", e.getMessage());
         }
     }
 
@@ -533,62 +560,38 @@ public class TestListener implements ITestListener {
      */
     private void captureTestNGLogs(ITestResult result, String testName) {
         try {
-            StringBuilder logBuilder = new StringBuilder();
-            logBuilder.append("╔═══════════════════════════════════════════════════════════════╗\n");
-            logBuilder.append("║           TESTNG EXECUTION LOGS                               ║\n");
-            logBuilder.append("║   Test: ").append(String.format("%-50s", testName)).append("║\n");
-            logBuilder.append("╚═══════════════════════════════════════════════════════════════╝\n\n");
-
-            // Test Information
-            logBuilder.append("📋 Test Information:\n");
-            logBuilder.append("   • Test Name: ").append(result.getMethod().getMethodName()).append("\n");
-            logBuilder.append("   • Test Class: ").append(result.getTestClass().getName()).append("\n");
-            logBuilder.append("   • Status: ").append(getStatusString(result.getStatus())).append("\n");
-            logBuilder.append("   • Start Time: ").append(new Date(result.getStartMillis())).append("\n");
-            logBuilder.append("   • End Time: ").append(new Date(result.getEndMillis())).append("\n");
-            logBuilder.append("   • Duration: ").append((result.getEndMillis() - result.getStartMillis()) / 1000.0).append(" seconds\n");
-
-            // Parameters
-            if (result.getParameters().length > 0) {
-                logBuilder.append("\n📌 Test Parameters:\n");
-                Object[] params = result.getParameters();
-                for (int i = 0; i < params.length; i++) {
-                    logBuilder.append("   • Parameter[").append(i).append("]: ").append(params[i]).append("\n");
-                }
-            }
-
-            // TestNG Reporter Logs
-            List<String> reporterMessages = org.testng.Reporter.getOutput(result);
-            if (!reporterMessages.isEmpty()) {
-                logBuilder.append("\n📢 Reporter Messages:\n");
-                for (String message : reporterMessages) {
-                    logBuilder.append("   • ").append(message).append("\n");
-                }
-            }
-
-            // Test Context
-            logBuilder.append("\n🌐 Test Context:\n");
-            logBuilder.append("   • Suite Name: ").append(result.getTestContext().getSuite().getName()).append("\n");
-            logBuilder.append("   • Test Name: ").append(result.getTestContext().getName()).append("\n");
-            logBuilder.append("   • Host: ").append(result.getHost() != null ? result.getHost() : "N/A").append("\n");
-
-            String logContent = logBuilder.toString();
-
-            // Save to file
             String fileName = testName + "_testng_" + getTimestamp() + ".log";
             Path logPath = Paths.get(LOG_FOLDER, fileName);
-            Files.write(logPath, logContent.getBytes());
+            String status = getStatusString(result.getStatus());
+            String attachment = prepareAttachment("TestNG Logs - " + testName);
+
+            SideWork.submit("TestNG log write", () -> {
+                LogReportWriter.writeTestNGLog(logPath, result, testName, status);
+                writeAttachment(attachment, logPath);
+                LOG.info("📝 TestNG logs captured: {}", fileName);
+            });
+        } catch (Exception e) {
+            LOG.error("❌ Failed to capture TestNG logs: {}", e.getMessage());
+        }
+    }
 
-            // Attach to Allure
-            try {
-                Allure.addAttachment("TestNG Logs - " + testName, "text/plain", logContent, "log");
-            } catch (Exception allureEx) {
-                System.out.println("⚠️  Allure TestNG log attachment skipped (file saved locally)");
-            }
+    /**
+     * Reserves a text attachment on the current test (Allure's lifecycle is bound to
+     * the test thread); the content is written later by {@link #writeAttachment}.
+     */
+    private String prepareAttachment(String name) {
+        try {
+            return Allure.getLifecycle().prepareAttachment(name, "text/plain", "log");
+        } catch (Exception allureEx) {
+            LOG.warn("⚠️  Allure attachment skipped for {} (file saved locally)", name);
+            return null;
+        }
+    }
 
-            System.out.println("📝 TestNG logs captured: " + fileName);
-        } catch (Exception e) {
-            System.err.println("❌ Failed to capture TestNG logs: " + e.getMessage());
+    private void writeAttachment(String source, Path file) throws IOException {
+        if (source == null) return;
+        try (InputStream in = Files.newInputStream(file)) {
+            Allure.getLifecycle().writeAttachment(source, in);
         }
     }
 
@@ -627,15 +630,27 @@ public class TestListener implements ITestListener {
                 Allure.addAttachment("Exception Details - " + getTestName(result), "text/plain",
                         exceptionDetails.toString(), "txt");
             } catch (Exception allureEx) {
-                System.out.println("⚠️  Allure exception attachment skipped (details logged)");
+                LOG.warn("⚠️  Allure exception attachment skipped (details logged)");
             }
 
-            System.out.println("📝 Exception details attached to Allure report");
+            LOG.info("📝 Exception details attached to Allure report");
         }
     }
 
     // ==================== UTILITY METHODS ====================
 
+    private BrowserEvents getBrowserEventsFromTest(ITestResult result) {
+        Object testInstance = result.getInstance();
+        return testInstance instanceof BaseTest ? ((BaseTest) testInstance).getBrowserEvents() : null;
+    }
+
+    private void clearBrowserEvents(ITestResult result) {
+        BrowserEvents events = getBrowserEventsFromTest(result);
+        if (events != null) {
+            events.clear();
+        }
+    }
+
     private WebDriver getDriverFromTest(ITestResult result) {
         Object testInstance = result.getInstance();
         if (testInstance instanceof BaseTest) {
@@ -648,6 +663,17 @@ public class TestListener implements ITestListener {
         return result.getMethod().getMethodName();
     }
 
+    private Integer getRowIndex(ITestResult result) {
+        // the data provider row is only exposed on TestNG's own result implementation
+        if (result.getParameters().length == 0 || !(result instanceof TestResult)) return null;
+        return ((TestResult) result).getParameterIndex();
+    }
+
+    private String getBrowserName(ITestResult result) {
+        Object instance = result.getInstance();
+        return instance instanceof BaseTest ? ((BaseTest) instance).getBrowserName() : null;
+    }
+
     private String getTimestamp() {
         return new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
     }
@@ -666,9 +692,9 @@ public class TestListener implements ITestListener {
             Files.createDirectories(Paths.get(VIDEO_FOLDER));
             Files.createDirectories(Paths.get(SCREENSHOT_FOLDER));
             Files.createDirectories(Paths.get(LOG_FOLDER));
-            System.out.println("📁 Artifact directories created/verified");
+            LOG.info("📁 Artifact directories created/verified");
         } catch (IOException e) {
-            System.err.println("❌ Failed to create directories: " + e.getMessage());
+            LOG.error("❌ Failed to create directories: {}", e.getMessage());
         }
     }
 
@@ -0,0 +1,62 @@
+package listeners;
+
+import base.BrowserContexts;
+import base.DriverProcesses;
+import base.DriverServices;
+import base.SessionWatchdog;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+
+/**
+ * Puts every test under the {@link SessionWatchdog} deadline and reaps leftover
+ * driver/browser processes before and after the suite, closing the shared browsers
+ * and driver services at the end. Register it after
+ * {@link DriverPrespawnListener} so unused pre-spawned sessions are quit first.
+ *
+ * Tests in the {@code load} group run for as long as their load profile says; their
+ * sessions stay under the per-session deadline instead.
+ */
+public class WatchdogListener implements ITestListener, ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        DriverProcesses.reapOrphans(false);
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (Arrays.asList(result.getMethod().getGroups()).contains("load")) return;
+        SessionWatchdog.shared().testStarted(result.getMethod().getMethodName());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        SessionWatchdog.shared().testFinished();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        SessionWatchdog.shared().testFinished();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        SessionWatchdog.shared().testFinished();
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        SessionWatchdog.shared().testFinished();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        BrowserContexts.shared().shutdown();
+        DriverServices.stopAll();
+        DriverProcesses.reapOrphans(true);
+    }
+}
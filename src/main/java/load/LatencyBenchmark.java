@@ -0,0 +1,128 @@
+package load;
+
+import metrics.SuiteMetrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency distributions of a benchmark, one {@link LatencyHistogram} per series and
+ * metric, e.g. series {@code "test/chrome/java tutorial"} and metric {@code "firstSuggestion"}.
+ * Benchmarks are looked up by name, so every test instance of a browser matrix records
+ * into the same one; p50/p95 of every series are exported as
+ * {@code framework_benchmark_p50_ms}/{@code framework_benchmark_p95_ms}.
+ */
+public final class LatencyBenchmark {
+
+    private static final Map<String, LatencyBenchmark> BENCHMARKS = new ConcurrentSkipListMap<>();
+
+    static {
+        SuiteMetrics.shared().gauge("framework_benchmark_p50_ms",
+                "Median latency per benchmark series and metric.", "series", () -> percentiles(50));
+        SuiteMetrics.shared().gauge("framework_benchmark_p95_ms",
+                "95th percentile latency per benchmark series and metric.", "series", () -> percentiles(95));
+    }
+
+    private final String name;
+    private final Map<String, Series> series = new ConcurrentSkipListMap<>();
+
+    private LatencyBenchmark(String name) {
+        this.name = name;
+    }
+
+    public static LatencyBenchmark named(String name) {
+        return BENCHMARKS.computeIfAbsent(name, LatencyBenchmark::new);
+    }
+
+    // ==================== RECORDING ====================
+
+    public void record(String seriesName, String metric, long duration, TimeUnit unit) {
+        series(seriesName, metric).histogram.record(duration, unit);
+    }
+
+    /**
+     * A sample that never reached the metric's end point (no suggestion, results never settled).
+     */
+    public void recordTimeout(String seriesName, String metric) {
+        series(seriesName, metric).timeouts.incrementAndGet();
+    }
+
+    private Series series(String seriesName, String metric) {
+        return series.computeIfAbsent(key(seriesName, metric), key -> new Series());
+    }
+
+    private static String key(String seriesName, String metric) {
+        return seriesName + " " + metric;
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Latencies of one series and metric, or null if never recorded.
+     */
+    public LatencyHistogram getHistogram(String seriesName, String metric) {
+        Series found = series.get(key(seriesName, metric));
+        return found != null ? found.histogram : null;
+    }
+
+    public long getTimeouts(String seriesName, String metric) {
+        Series found = series.get(key(seriesName, metric));
+        return found != null ? found.timeouts.get() : 0;
+    }
+
+    private static Map<String, Double> percentiles(double percentile) {
+        Map<String, Double> values = new TreeMap<>();
+        BENCHMARKS.forEach((benchmark, results) -> results.series.forEach((key, found) -> {
+            if (found.histogram.getCount() > 0) {
+                values.put(benchmark + "/" + key, found.histogram.getPercentileMillis(percentile));
+            }
+        }));
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append("Benchmark: ").append(name).append('\n');
+        out.append('\n').append(String.format(Locale.ROOT, "%-56s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                "Series / metric", "samples", "timeouts", "min ms", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            LatencyHistogram histogram = entry.getValue().histogram;
+            out.append(String.format(Locale.ROOT, "%-56s %7d %8d %9.0f %9.0f %9.0f %9.0f %9.0f %9.0f%n",
+                    entry.getKey(), histogram.getCount(), entry.getValue().timeouts.get(), histogram.getMinMillis(),
+                    histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                    histogram.getPercentileMillis(95), histogram.getPercentileMillis(99), histogram.getMaxMillis()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes every series recorded so far; matrix blocks finishing together may both call this.
+     */
+    public synchronized void write(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[LatencyBenchmark] Cannot write " + file, e);
+        }
+    }
+
+    private static final class Series {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+    }
+}
@@ -0,0 +1,107 @@
+package load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shape of a load or soak run, read from system properties:
+ * <ul>
+ *   <li>{@code -DloadModel=closed|open} - fixed concurrency, or a fixed arrival rate</li>
+ *   <li>{@code -DloadUsers} - concurrent virtual users (closed) / max sessions (open), default 2</li>
+ *   <li>{@code -DloadRate} - scenario arrivals per second (open), default 0.5</li>
+ *   <li>{@code -DloadDurationSeconds} (default 60) and {@code -DloadRampUpSeconds} (default 10)</li>
+ *   <li>{@code -DloadThinkMillis} - mean pause between a user's iterations, default 1000</li>
+ *   <li>{@code -DloadScenarios} - comma-separated scenario names to run, default all</li>
+ *   <li>{@code -DloadMaxErrorRate} - failed iterations tolerated, default 0.05</li>
+ *   <li>{@code -DloadReportSeconds} - progress line interval, default 10</li>
+ * </ul>
+ * The target is the environment's base URL, so {@code -DbaseUrl} (or {@code -DhttpMode=replay})
+ * points a run at a local stand-in server.
+ */
+public final class LoadProfile {
+
+    public enum Model { CLOSED, OPEN }
+
+    private final Model model;
+    private final int users;
+    private final double arrivalsPerSecond;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final Set<String> scenarios;
+    private final double maxErrorRate;
+    private final Duration reportInterval;
+
+    private LoadProfile() {
+        this.model = Model.valueOf(System.getProperty("loadModel", "closed").toUpperCase(Locale.ROOT));
+        this.users = Math.max(1, Integer.getInteger("loadUsers", 2));
+        this.arrivalsPerSecond = Double.parseDouble(System.getProperty("loadRate", "0.5"));
+        this.duration = Duration.ofSeconds(Long.getLong("loadDurationSeconds", 60));
+        this.rampUp = Duration.ofSeconds(Long.getLong("loadRampUpSeconds", 10));
+        this.thinkTime = Duration.ofMillis(Long.getLong("loadThinkMillis", 1000));
+        String names = System.getProperty("loadScenarios", "").trim();
+        this.scenarios = names.isEmpty() ? Collections.emptySet()
+                : new LinkedHashSet<>(Arrays.asList(names.split("\\s*,\\s*")));
+        this.maxErrorRate = Double.parseDouble(System.getProperty("loadMaxErrorRate", "0.05"));
+        this.reportInterval = Duration.ofSeconds(Math.max(1, Long.getLong("loadReportSeconds", 10)));
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("[LoadProfile] loadRate must be positive: " + arrivalsPerSecond);
+        }
+    }
+
+    public static LoadProfile current() {
+        return new LoadProfile();
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public double getArrivalsPerSecond() {
+        return arrivalsPerSecond;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public Duration getReportInterval() {
+        return reportInterval;
+    }
+
+    /**
+     * Whether the named scenario is selected by {@code -DloadScenarios}.
+     */
+    public boolean includes(String scenario) {
+        return scenarios.isEmpty() || scenarios.contains(scenario);
+    }
+
+    @Override
+    public String toString() {
+        String load = model == Model.CLOSED
+                ? users + " users"
+                : arrivalsPerSecond + "/s arrivals, max " + users + " sessions";
+        return model.name().toLowerCase(Locale.ROOT) + " model, " + load + ", " + duration.getSeconds() + "s (ramp-up "
+                + rampUp.getSeconds() + "s), think " + thinkTime.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,157 @@
+package load;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Results of a {@link LoadRunner} run: a latency histogram and error count per
+ * scenario, plus one histogram per scenario step ({@code scenario/step}).
+ * Recorded into concurrently while the run is in progress.
+ */
+public final class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<String, Series> series = new ConcurrentSkipListMap<>();
+    private final AtomicLong droppedArrivals = new AtomicLong();
+    private volatile long elapsedMillis;
+
+    LoadReport(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    // ==================== RECORDING ====================
+
+    void recordSuccess(String name, long nanos) {
+        series(name).histogram.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordFailure(String name, Throwable error) {
+        Series failed = series(name);
+        failed.errors.incrementAndGet();
+        failed.firstError.compareAndSet(null, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    void recordDroppedArrival() {
+        droppedArrivals.incrementAndGet();
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    private Series series(String name) {
+        return series.computeIfAbsent(name, key -> new Series());
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Completed scenario iterations, successful or not (steps are not counted).
+     */
+    public long getIterations() {
+        long iterations = 0;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            if (isScenario(entry.getKey())) iterations += entry.getValue().histogram.getCount() + entry.getValue().errors.get();
+        }
+        return iterations;
+    }
+
+    public long getErrors() {
+        long errors = 0;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            if (isScenario(entry.getKey())) errors += entry.getValue().errors.get();
+        }
+        return errors;
+    }
+
+    public double getErrorRate() {
+        long iterations = getIterations();
+        return iterations == 0 ? 0 : (double) getErrors() / iterations;
+    }
+
+    public long getDroppedArrivals() {
+        return droppedArrivals.get();
+    }
+
+    /**
+     * Latencies of a scenario or of a step ({@code scenario/step}), or null if never recorded.
+     */
+    public LatencyHistogram getHistogram(String name) {
+        Series found = series.get(name);
+        return found != null ? found.histogram : null;
+    }
+
+    private static boolean isScenario(String name) {
+        return name.indexOf('/') < 0;
+    }
+
+    /**
+     * One-line summary for periodic progress output.
+     */
+    String progress(long elapsedSeconds, int active) {
+        double p95 = 0;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            if (isScenario(entry.getKey())) p95 = Math.max(p95, entry.getValue().histogram.getPercentileMillis(95));
+        }
+        return String.format(Locale.ROOT, "📈 [load] %ds: %d iterations, %d errors, %d active, worst scenario p95 %.0f ms%s",
+                elapsedSeconds, getIterations(), getErrors(), active, p95,
+                droppedArrivals.get() > 0 ? ", " + droppedArrivals.get() + " arrivals dropped" : "");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append("Load run: ").append(profile).append('\n');
+        out.append(String.format(Locale.ROOT, "Elapsed: %.1fs, iterations: %d, errors: %d (%.1f%%), throughput: %.2f/s%n",
+                elapsedMillis / 1000.0, getIterations(), getErrors(), getErrorRate() * 100,
+                elapsedMillis == 0 ? 0 : getIterations() * 1000.0 / elapsedMillis));
+        if (droppedArrivals.get() > 0) {
+            out.append("Dropped arrivals (all sessions busy): ").append(droppedArrivals.get()).append('\n');
+        }
+        out.append('\n').append(String.format(Locale.ROOT, "%-36s %7s %6s %9s %9s %9s %9s %9s %9s%n",
+                "Scenario / step", "ok", "errors", "min ms", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            String name = isScenario(entry.getKey()) ? entry.getKey() : "  " + entry.getKey();
+            LatencyHistogram histogram = entry.getValue().histogram;
+            out.append(String.format(Locale.ROOT, "%-36s %7d %6d %9.0f %9.0f %9.0f %9.0f %9.0f %9.0f%n",
+                    name, histogram.getCount(), entry.getValue().errors.get(), histogram.getMinMillis(),
+                    histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                    histogram.getPercentileMillis(95), histogram.getPercentileMillis(99), histogram.getMaxMillis()));
+        }
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            String firstError = entry.getValue().firstError.get();
+            if (firstError != null && isScenario(entry.getKey())) {
+                out.append('\n').append("First error in ").append(entry.getKey()).append(": ").append(firstError);
+            }
+        }
+        return out.toString();
+    }
+
+    public void write(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[LoadReport] Cannot write " + file, e);
+        }
+    }
+
+    private static final class Series {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+    }
+}
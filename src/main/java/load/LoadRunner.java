@@ -0,0 +1,279 @@
+package load;
+
+import base.DriverFactory;
+import base.DriverSpawner;
+import env.EnvConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.LogContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives page-object scenarios as a load or soak run against the environment's base URL.
+ *
+ * Closed model: {@code loadUsers} virtual users start one by one over the ramp-up, each
+ * looping weighted-random scenarios with think time until the duration is up.
+ * Open model: scenarios arrive at {@code loadRate} per second (ramped up linearly) on
+ * up to {@code loadUsers} reused sessions; arrivals that find every session busy are
+ * counted as dropped rather than queued, so latencies are not hidden by queueing.
+ *
+ * A session that fails an iteration is quit and replaced before the next one.
+ */
+public final class LoadRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadRunner.class);
+
+    /**
+     * Body of a scenario: the same page-object calls a test makes, with steps timed through the session.
+     */
+    @FunctionalInterface
+    public interface Scenario {
+        void run(LoadSession session) throws Exception;
+    }
+
+    private final EnvConfig envConfig;
+    private final String browser;
+    private final LoadProfile profile;
+    private final DriverFactory factory;
+    private final List<Weighted> scenarios = new ArrayList<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private int totalWeight;
+
+    public LoadRunner(EnvConfig envConfig, String browser, LoadProfile profile) {
+        this.envConfig = envConfig;
+        this.browser = DriverFactory.normalize(browser);
+        this.profile = profile;
+        this.factory = new DriverFactory(envConfig);
+    }
+
+    /**
+     * Adds a scenario picked with probability {@code weight / total weight}; skipped
+     * when {@code -DloadScenarios} does not name it.
+     */
+    public LoadRunner scenario(String name, int weight, Scenario body) {
+        if (weight > 0 && profile.includes(name)) {
+            scenarios.add(new Weighted(name, weight, body));
+            totalWeight += weight;
+        }
+        return this;
+    }
+
+    public LoadReport run() {
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("[LoadRunner] No scenarios selected (loadScenarios="
+                    + System.getProperty("loadScenarios") + ")");
+        }
+        LOG.info("🏋️ Load run against {} on {}: {}", envConfig.getBaseUrl(), browser, profile);
+        LoadReport report = new LoadReport(profile);
+        DriverSpawner.shared().expect(factory, browser, profile.getUsers());
+
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(threads("load-progress"));
+        long interval = profile.getReportInterval().getSeconds();
+        progress.scheduleAtFixedRate(() -> LOG.info("{}", report.progress(
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), active.get())), interval, interval, TimeUnit.SECONDS);
+        try {
+            if (profile.getModel() == LoadProfile.Model.CLOSED) {
+                runClosed(report, start, end);
+            } else {
+                runOpen(report, start, end);
+            }
+        } finally {
+            progress.shutdownNow();
+            report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        LOG.info("\n{}", report);
+        return report;
+    }
+
+    // ==================== MODELS ====================
+
+    private void runClosed(LoadReport report, long start, long end) {
+        int users = profile.getUsers();
+        ExecutorService pool = Executors.newFixedThreadPool(users, threads("load-user"));
+        for (int i = 0; i < users; i++) {
+            long startAt = start + profile.getRampUp().toNanos() * i / users;
+            pool.submit(() -> {
+                sleepUntil(startAt);
+                LoadSession session = null;
+                try {
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        if (session == null && (session = openSession(report)) == null) {
+                            // back off instead of spinning on a browser that will not start
+                            sleepUntil(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+                            continue;
+                        }
+                        if (!iterate(session, report)) {
+                            session.close();
+                            session = null;
+                        }
+                        think();
+                    }
+                } finally {
+                    if (session != null) session.close();
+                }
+            });
+        }
+        await(pool);
+    }
+
+    private void runOpen(LoadReport report, long start, long end) {
+        int maxSessions = profile.getUsers();
+        ExecutorService pool = Executors.newFixedThreadPool(maxSessions, threads("load-arrival"));
+        Semaphore free = new Semaphore(maxSessions);
+        ConcurrentLinkedDeque<LoadSession> idle = new ConcurrentLinkedDeque<>();
+
+        long next = start;
+        while (next < end && !Thread.currentThread().isInterrupted()) {
+            sleepUntil(next);
+            if (free.tryAcquire()) {
+                pool.submit(() -> {
+                    try {
+                        LoadSession session = idle.poll();
+                        if (session == null) session = openSession(report);
+                        if (session != null) {
+                            if (iterate(session, report)) idle.push(session);
+                            else session.close();
+                        }
+                    } finally {
+                        free.release();
+                    }
+                });
+            } else {
+                report.recordDroppedArrival();
+            }
+            next += (long) (TimeUnit.SECONDS.toNanos(1) / currentRate(next - start));
+        }
+        await(pool);
+        for (LoadSession session; (session = idle.poll()) != null; ) {
+            session.close();
+        }
+    }
+
+    /**
+     * Arrival rate ramping linearly to the target, starting from a tenth of it.
+     */
+    private double currentRate(long elapsedNanos) {
+        double target = profile.getArrivalsPerSecond();
+        long rampUp = profile.getRampUp().toNanos();
+        if (rampUp <= 0 || elapsedNanos >= rampUp) return target;
+        return Math.max(target / 10, target * elapsedNanos / rampUp);
+    }
+
+    // ==================== ITERATIONS ====================
+
+    private LoadSession openSession(LoadReport report) {
+        long started = System.nanoTime();
+        try {
+            LoadSession session = new LoadSession(factory, envConfig, browser, report);
+            // waiting for a governor slot is queueing, not browser start-up
+            long slotWait = session.getSlotWaitNanos();
+            report.recordSuccess("session/slot", slotWait);
+            report.recordSuccess("session/start", System.nanoTime() - started - slotWait);
+            return session;
+        } catch (RuntimeException e) {
+            report.recordFailure("session/start", e);
+            LOG.warn("⚠️  Load session failed to start: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Runs one weighted-random scenario; false if it failed.
+     */
+    private boolean iterate(LoadSession session, LoadReport report) {
+        Weighted scenario = pick();
+        session.setScenario(scenario.name);
+        LogContext.enter("load:" + scenario.name, null, browser);
+        active.incrementAndGet();
+        long started = System.nanoTime();
+        try {
+            scenario.body.run(session);
+            report.recordSuccess(scenario.name, System.nanoTime() - started);
+            return true;
+        } catch (Exception | AssertionError e) {
+            report.recordFailure(scenario.name, e);
+            return false;
+        } finally {
+            active.decrementAndGet();
+            LogContext.clear();
+        }
+    }
+
+    private Weighted pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Weighted scenario : scenarios) {
+            roll -= scenario.weight;
+            if (roll < 0) return scenario;
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    /**
+     * Think time between iterations, uniformly 50-150% of the configured mean.
+     */
+    private void think() {
+        long mean = profile.getThinkTime().toMillis();
+        if (mean <= 0) return;
+        sleepUntil(System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(mean / 2, mean * 3 / 2 + 1)));
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lets in-flight iterations finish; they are bounded by the page timeouts.
+     */
+    private static void await(ExecutorService pool) {
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.info("⏳ [load] Waiting for in-flight iterations to finish");
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Weighted {
+        private final String name;
+        private final int weight;
+        private final Scenario body;
+
+        private Weighted(String name, int weight, Scenario body) {
+            this.name = name;
+            this.weight = weight;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package load;
+
+import base.DriverFactory;
+import base.DriverSession;
+import base.DriverSpawner;
+import env.EnvConfig;
+import network.HttpMode;
+import network.NetworkInterception;
+import network.NetworkPolicy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pagefactory.PageRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * One virtual user's browser, set up exactly like a test session (pre-spawned when
+ * available, network policy, window and timeouts). Scenarios time their steps through
+ * {@link #step}; a session is reused across iterations until one fails, so state such as
+ * being logged in carries over from one iteration to the next.
+ */
+public final class LoadSession implements AutoCloseable {
+
+    /**
+     * A scenario step; may throw like test code does.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    private final EnvConfig envConfig;
+    private final DriverSession session;
+    private final NetworkInterception networkInterception;
+    private final WebDriverWait wait;
+    private final LoadReport report;
+    private String scenario;
+    private String loggedInUrl;
+
+    LoadSession(DriverFactory factory, EnvConfig envConfig, String browser, LoadReport report) {
+        this.envConfig = envConfig;
+        this.report = report;
+        this.session = DriverSpawner.shared().acquire(factory, browser);
+        WebDriver driver = session.getDriver();
+        this.networkInterception = NetworkInterception.install(driver, NetworkPolicy.forEnvironment(envConfig),
+                HttpMode.current(), "load");
+        factory.configure(driver);
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+    }
+
+    public WebDriver getDriver() {
+        return session.getDriver();
+    }
+
+    /**
+     * Time this session's start spent waiting for a governor slot.
+     */
+    long getSlotWaitNanos() {
+        return session.getSlotWaitNanos();
+    }
+
+    public WebDriverWait getWait() {
+        return wait;
+    }
+
+    public EnvConfig getEnvConfig() {
+        return envConfig;
+    }
+
+    /**
+     * Page object bound to this session's driver.
+     */
+    public <T> T page(Class<T> pageClass) {
+        return PageRegistry.get(pageClass, getDriver());
+    }
+
+    /**
+     * Opens the base URL, or the page the login landed on while the session is logged in.
+     */
+    public void open() {
+        getDriver().get(loggedInUrl != null ? loggedInUrl : envConfig.getBaseUrl());
+    }
+
+    /**
+     * Whether a scenario logged this session in and nothing has logged it out since.
+     */
+    public boolean isLoggedIn() {
+        return loggedInUrl != null;
+    }
+
+    /**
+     * Marks the session as logged in (or not); call on the page the login landed on.
+     */
+    public void setLoggedIn(boolean loggedIn) {
+        this.loggedInUrl = loggedIn ? getDriver().getCurrentUrl() : null;
+    }
+
+    /**
+     * Clears cookies and storage of the environment's session origins (see
+     * {@link DriverSession#clearBrowserState}), logging the session out.
+     */
+    public void clearState() {
+        session.clearBrowserState(envConfig.getSessionOrigins());
+        loggedInUrl = null;
+    }
+
+    /**
+     * Runs and times one step; the latency lands in {@code scenario/name}.
+     */
+    public void step(String name, Step body) throws Exception {
+        step(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    public <T> T step(String name, Callable<T> body) throws Exception {
+        String series = scenario + "/" + name;
+        // a reused session that keeps finishing steps is not hung
+        session.keepAlive();
+        long start = System.nanoTime();
+        try {
+            T result = body.call();
+            report.recordSuccess(series, System.nanoTime() - start);
+            return result;
+        } catch (Exception | AssertionError e) {
+            report.recordFailure(series, e);
+            throw e;
+        }
+    }
+
+    void setScenario(String scenario) {
+        this.scenario = scenario;
+    }
+
+    @Override
+    public void close() {
+        if (networkInterception != null) {
+            networkInterception.close();
+        }
+        session.quit();
+        PageRegistry.release();
+    }
+}
@@ -0,0 +1,92 @@
+package locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.List;
+
+/**
+ * A cached container element that narrows searches to one region of the page
+ * (e.g. the main view) so the browser evaluates selectors against a smaller
+ * subtree. The container is resolved lazily and re-resolved only when stale;
+ * if it cannot be found, searches fall back to the whole document.
+ *
+ * Not thread-safe: create one per test alongside the driver.
+ */
+public class Container {
+
+    private final WebDriver driver;
+    private final By containerLocator;
+    private WebElement container;
+
+    public Container(WebDriver driver, By containerLocator) {
+        this.driver = driver;
+        this.containerLocator = containerLocator;
+    }
+
+    public WebElement find(By by) {
+        try {
+            return context().findElement(Locators.relative(by));
+        } catch (StaleElementReferenceException e) {
+            container = null;
+            return context().findElement(Locators.relative(by));
+        }
+    }
+
+    public List<WebElement> findAll(By by) {
+        try {
+            return context().findElements(Locators.relative(by));
+        } catch (StaleElementReferenceException e) {
+            container = null;
+            return context().findElements(Locators.relative(by));
+        }
+    }
+
+    /**
+     * Wait condition for a visible element inside the container.
+     */
+    public ExpectedCondition<WebElement> visible(By by) {
+        return ignored -> firstMatching(by, false);
+    }
+
+    /**
+     * Wait condition for a visible and enabled element inside the container.
+     */
+    public ExpectedCondition<WebElement> clickable(By by) {
+        return ignored -> firstMatching(by, true);
+    }
+
+    private WebElement firstMatching(By by, boolean mustBeEnabled) {
+        try {
+            for (WebElement element : findAll(by)) {
+                if (element.isDisplayed() && (!mustBeEnabled || element.isEnabled())) {
+                    return element;
+                }
+            }
+        } catch (StaleElementReferenceException e) {
+            container = null;
+        }
+        return null;
+    }
+
+    private SearchContext context() {
+        if (container == null) {
+            List<WebElement> matches = driver.findElements(containerLocator);
+            if (matches.isEmpty()) {
+                // Region not rendered (yet) - search the whole document this time
+                return driver;
+            }
+            container = matches.get(0);
+        }
+        return container;
+    }
+
+    @Override
+    public String toString() {
+        return "Container(" + containerLocator + ")";
+    }
+}
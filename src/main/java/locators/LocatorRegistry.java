@@ -0,0 +1,176 @@
+package locators;
+
+import env.EnvConfig;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Resolves {@link SmartLocator}s and remembers which candidate worked last,
+ * persisted per environment under target/locator-cache/&lt;env&gt;.properties.
+ *
+ * All candidates share one wait budget: implicit wait is switched off while
+ * probing so a broken candidate costs one round trip instead of a full timeout.
+ */
+public final class LocatorRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocatorRegistry.class);
+    private static final Path CACHE_DIR = Paths.get("target", "locator-cache");
+    private static final long POLL_INTERVAL_MILLIS = 250;
+    private static final Map<String, LocatorRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final Path cacheFile;
+    private final Duration implicitWait;
+    private final Map<String, String> lastWorking = new ConcurrentHashMap<>();
+
+    private LocatorRegistry(Path cacheFile, Duration implicitWait) {
+        this.cacheFile = cacheFile;
+        this.implicitWait = implicitWait;
+        load();
+    }
+
+    /**
+     * Returns the shared registry for the given environment.
+     */
+    public static LocatorRegistry forEnvironment(EnvConfig envConfig) {
+        return REGISTRIES.computeIfAbsent(envConfig.getName(), name -> new LocatorRegistry(
+                CACHE_DIR.resolve(name + ".properties"),
+                Duration.ofSeconds(envConfig.getImplicitWaitSeconds())));
+    }
+
+    public WebElement find(WebDriver driver, SmartLocator locator, Duration timeout) {
+        return resolve(driver, locator, timeout, element -> true);
+    }
+
+    public WebElement findVisible(WebDriver driver, SmartLocator locator, Duration timeout) {
+        return resolve(driver, locator, timeout, WebElement::isDisplayed);
+    }
+
+    public WebElement findClickable(WebDriver driver, SmartLocator locator, Duration timeout) {
+        return resolve(driver, locator, timeout, element -> element.isDisplayed() && element.isEnabled());
+    }
+
+    /**
+     * Polls all candidates (last known good first) until one yields an element
+     * matching {@code state} or the timeout expires.
+     */
+    private WebElement resolve(WebDriver driver, SmartLocator locator, Duration timeout,
+                               Predicate<WebElement> state) {
+        List<SmartLocator.Candidate> ordered = orderedCandidates(locator);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            while (true) {
+                for (SmartLocator.Candidate candidate : ordered) {
+                    WebElement element = firstMatching(driver, candidate, state);
+                    if (element != null) {
+                        remember(locator, candidate);
+                        return element;
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw new TimeoutException("[LocatorRegistry] No candidate matched for '"
+                            + locator.getName() + "' within " + timeout.getSeconds() + "s, tried " + ordered);
+                }
+                sleep();
+            }
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
+    private List<SmartLocator.Candidate> orderedCandidates(SmartLocator locator) {
+        List<SmartLocator.Candidate> candidates = locator.getCandidates();
+        String preferred = lastWorking.get(locator.getName());
+        if (preferred == null) return candidates;
+
+        List<SmartLocator.Candidate> ordered = new ArrayList<>(candidates.size());
+        for (SmartLocator.Candidate candidate : candidates) {
+            if (candidate.getKey().equals(preferred)) ordered.add(0, candidate);
+            else ordered.add(candidate);
+        }
+        return ordered;
+    }
+
+    private WebElement firstMatching(WebDriver driver, SmartLocator.Candidate candidate,
+                                     Predicate<WebElement> state) {
+        try {
+            for (WebElement element : driver.findElements(candidate.getBy())) {
+                if (state.test(element)) return element;
+            }
+        } catch (StaleElementReferenceException | NoSuchElementException e) {
+            // DOM changed under us - try again on the next poll
+        }
+        return null;
+    }
+
+    private void remember(SmartLocator locator, SmartLocator.Candidate candidate) {
+        String previous = lastWorking.put(locator.getName(), candidate.getKey());
+        if (!candidate.getKey().equals(previous)) {
+            if (previous != null) {
+                LOG.info("🩹 Locator '{}' healed: {} → {}", locator.getName(), previous, candidate.getKey());
+            }
+            save();
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("[LocatorRegistry] Interrupted while waiting for element", e);
+        }
+    }
+
+    // ==================== PERSISTENCE ====================
+
+    private void load() {
+        if (!Files.exists(cacheFile)) return;
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            Properties props = new Properties();
+            props.load(reader);
+            for (String name : props.stringPropertyNames()) {
+                lastWorking.put(name, props.getProperty(name));
+            }
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to load locator cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private synchronized void save() {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Properties props = new Properties();
+            props.putAll(lastWorking);
+            Path tmp = Files.createTempFile(cacheFile.getParent(), "locators", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                props.store(writer, "Last working locator candidate per logical element");
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to save locator cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package locators;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled {@link By} cache. Each distinct locator string is turned into a
+ * {@code By} once and shared by every test thread; XPath is rewritten to CSS
+ * whenever {@link XPathToCss} finds an exact equivalent.
+ *
+ * Declare locators as static constants, e.g.
+ * {@code private static final By SEARCH_INPUT = Locators.xpath("//input[@placeholder='What do you want to play?']");}
+ */
+public final class Locators {
+
+    private static final Map<String, By> CACHE = new ConcurrentHashMap<>();
+
+    private Locators() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static By css(String css) {
+        return CACHE.computeIfAbsent("css:" + css, key -> By.cssSelector(css));
+    }
+
+    public static By id(String id) {
+        return CACHE.computeIfAbsent("id:" + id, key -> By.id(id));
+    }
+
+    /**
+     * Returns a CSS-backed {@code By} when the XPath has an exact CSS equivalent,
+     * otherwise the original XPath.
+     */
+    public static By xpath(String xpath) {
+        return CACHE.computeIfAbsent("xpath:" + xpath, key -> {
+            String css = XPathToCss.translate(xpath);
+            return css != null ? By.cssSelector(css) : By.xpath(xpath);
+        });
+    }
+
+    /**
+     * Makes a locator usable relative to an element: document-rooted XPath
+     * ({@code //x}) is rewritten to {@code .//x}, everything else is returned as is.
+     */
+    static By relative(By by) {
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters params = ((By.Remotable) by).getRemoteParameters();
+            Object value = params.value();
+            if ("xpath".equals(params.using()) && value instanceof String && ((String) value).startsWith("//")) {
+                String scoped = "." + value;
+                return CACHE.computeIfAbsent("scoped:" + scoped, key -> By.xpath(scoped));
+            }
+        }
+        return by;
+    }
+}
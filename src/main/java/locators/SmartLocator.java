@@ -0,0 +1,108 @@
+package locators;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A logical page element described by ranked candidate locators.
+ * Candidates are declared from most to least stable (data-testid, aria-label,
+ * text, CSS, XPath); {@link LocatorRegistry} tries the one that worked last first.
+ *
+ * Declare instances once as static constants, e.g.
+ * <pre>
+ * SmartLocator.named("login.submit")
+ *         .byTestId("login-button")
+ *         .byCss(".e-91132-button-primary__inner");
+ * </pre>
+ */
+public final class SmartLocator {
+
+    private final String name;
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    private SmartLocator(String name) {
+        this.name = name;
+    }
+
+    public static SmartLocator named(String name) {
+        return new SmartLocator(name);
+    }
+
+    public SmartLocator byTestId(String testId) {
+        return add("testid", testId, By.cssSelector("[data-testid=" + cssQuote(testId) + "]"));
+    }
+
+    public SmartLocator byAriaLabel(String label) {
+        return add("aria", label, By.cssSelector("[aria-label=" + cssQuote(label) + "]"));
+    }
+
+    public SmartLocator byText(String text) {
+        return add("text", text, By.xpath("//*[normalize-space(text())=" + xpathQuote(text) + "]"));
+    }
+
+    public SmartLocator byCss(String css) {
+        return add("css", css, Locators.css(css));
+    }
+
+    public SmartLocator byXpath(String xpath) {
+        return add("xpath", xpath, Locators.xpath(xpath));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Candidate> getCandidates() {
+        return Collections.unmodifiableList(candidates);
+    }
+
+    private SmartLocator add(String strategy, String value, By by) {
+        candidates.add(new Candidate(strategy + ":" + value, by));
+        return this;
+    }
+
+    private static String cssQuote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static String xpathQuote(String value) {
+        if (!value.contains("'")) return "'" + value + "'";
+        if (!value.contains("\"")) return "\"" + value + "\"";
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    @Override
+    public String toString() {
+        return name + candidates;
+    }
+
+    /**
+     * One way of finding the element. The key is stable across runs and is what
+     * the registry persists, so reordering candidates never invalidates the cache.
+     */
+    public static final class Candidate {
+        private final String key;
+        private final By by;
+
+        Candidate(String key, By by) {
+            this.key = key;
+            this.by = by;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public By getBy() {
+            return by;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package locators;
+
+/**
+ * Translates the subset of XPath that has an exact CSS equivalent.
+ *
+ * Supported: descendant/child steps ({@code //}, {@code /}), tag names, {@code *},
+ * {@code *[name()='svg']}, and predicates {@code @a}, {@code @a='v'},
+ * {@code contains(@a,'v')}, {@code starts-with(@a,'v')} joined with {@code and}.
+ * Anything else (text(), positions, axes, unions, grouping) returns {@code null}
+ * and the caller keeps the original XPath.
+ */
+public final class XPathToCss {
+
+    private final String xpath;
+    private int pos;
+
+    private XPathToCss(String xpath) {
+        this.xpath = xpath;
+    }
+
+    /**
+     * @return the equivalent CSS selector, or null when none exists
+     */
+    public static String translate(String xpath) {
+        if (xpath == null) return null;
+        try {
+            return new XPathToCss(xpath.trim()).path();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String path() {
+        StringBuilder css = new StringBuilder();
+        if (!consume("//")) fail();
+
+        css.append(step());
+        while (pos < xpath.length()) {
+            if (consume("//")) css.append(' ');
+            else if (consume("/")) css.append(" > ");
+            else fail();
+            css.append(step());
+        }
+        return css.toString();
+    }
+
+    private String step() {
+        String tag;
+        if (consume("*")) {
+            tag = "*";
+        } else {
+            tag = name();
+        }
+
+        StringBuilder attributes = new StringBuilder();
+        while (consume("[")) {
+            do {
+                skipSpaces();
+                if (peekFunction("name()") || peekFunction("local-name()")) {
+                    // *[name()='svg'] - only meaningful on a wildcard step
+                    if (!"*".equals(tag)) fail();
+                    consume(xpath.startsWith("name()", pos) ? "name()" : "local-name()");
+                    expectEquals();
+                    tag = literal();
+                } else if (consume("contains(")) {
+                    attributes.append(functionPredicate("*="));
+                } else if (consume("starts-with(")) {
+                    attributes.append(functionPredicate("^="));
+                } else if (consume("@")) {
+                    String attribute = name();
+                    skipSpaces();
+                    if (peek() == '=') {
+                        expectEquals();
+                        attributes.append('[').append(attribute).append('=').append(cssQuote(literal())).append(']');
+                    } else {
+                        attributes.append('[').append(attribute).append(']');
+                    }
+                } else {
+                    fail();
+                }
+                skipSpaces();
+            } while (consume("and "));
+            if (!consume("]")) fail();
+        }
+
+        if ("*".equals(tag) && attributes.length() > 0) return attributes.toString();
+        return tag + attributes;
+    }
+
+    private String functionPredicate(String operator) {
+        skipSpaces();
+        if (!consume("@")) fail();
+        String attribute = name();
+        skipSpaces();
+        if (!consume(",")) fail();
+        skipSpaces();
+        String value = literal();
+        skipSpaces();
+        if (!consume(")")) fail();
+        return "[" + attribute + operator + cssQuote(value) + "]";
+    }
+
+    private void expectEquals() {
+        skipSpaces();
+        if (!consume("=")) fail();
+        skipSpaces();
+    }
+
+    private String name() {
+        int start = pos;
+        while (pos < xpath.length()) {
+            char c = xpath.charAt(pos);
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_') pos++;
+            else break;
+        }
+        if (start == pos || !Character.isLetter(xpath.charAt(start))) fail();
+        return xpath.substring(start, pos);
+    }
+
+    private String literal() {
+        char quote = peek();
+        if (quote != '\'' && quote != '"') fail();
+        int end = xpath.indexOf(quote, pos + 1);
+        if (end < 0) fail();
+        String value = xpath.substring(pos + 1, end);
+        pos = end + 1;
+        return value;
+    }
+
+    private static String cssQuote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private boolean peekFunction(String function) {
+        return xpath.startsWith(function, pos);
+    }
+
+    private char peek() {
+        return pos < xpath.length() ? xpath.charAt(pos) : '\0';
+    }
+
+    private boolean consume(String token) {
+        if (xpath.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipSpaces() {
+        while (pos < xpath.length() && xpath.charAt(pos) == ' ') pos++;
+    }
+
+    private static void fail() {
+        throw new IllegalArgumentException();
+    }
+}
@@ -0,0 +1,139 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link SuiteMetrics} while the suite runs:
+ * {@code -DmetricsPort=N} serves {@code http://127.0.0.1:N/metrics} for Prometheus
+ * (0 picks a free port), {@code -DmetricsFile=path} rewrites the same text every
+ * {@code -DmetricsDumpSeconds} (default 10) and once more at the end. Neither is on by default.
+ */
+public final class MetricsExporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static MetricsExporter shared;
+
+    private final HttpServer server;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    private MetricsExporter(Integer port, Path file) throws IOException {
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (port != null) {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", this::handle);
+            server.setExecutor(scheduler);
+        } else {
+            server = null;
+        }
+    }
+
+    /**
+     * Starts publishing once per JVM; a no-op when neither property is set.
+     */
+    public static synchronized void start() {
+        if (shared != null) return;
+        String port = System.getProperty("metricsPort");
+        String file = System.getProperty("metricsFile");
+        if ((port == null || port.isEmpty()) && (file == null || file.isEmpty())) return;
+
+        try {
+            shared = new MetricsExporter(port == null || port.isEmpty() ? null : Integer.parseInt(port),
+                    file == null || file.isEmpty() ? null : Paths.get(file));
+            shared.startPublishing();
+            Runtime.getRuntime().addShutdownHook(new Thread(MetricsExporter::stop, "metrics-exporter-stop"));
+        } catch (IOException | InterruptedException e) {
+            LOG.warn("⚠️  Metrics export disabled: {}", e.getMessage());
+            shared = null;
+        }
+    }
+
+    /**
+     * Writes the final dump and stops the endpoint.
+     */
+    public static synchronized void stop() {
+        if (shared == null) return;
+        shared.scheduler.shutdownNow();
+        if (shared.server != null) {
+            shared.server.stop(0);
+        }
+        shared.dump();
+        shared = null;
+    }
+
+    private void startPublishing() throws InterruptedException {
+        if (server != null) {
+            // like ReplayServer: the dispatcher thread inherits the daemon flag of its starter
+            Thread starter = new Thread(server::start, "metrics-exporter-start");
+            starter.setDaemon(true);
+            starter.start();
+            starter.join();
+            LOG.info("📈 Metrics on http://{}:{}/metrics", server.getAddress().getHostString(),
+                    server.getAddress().getPort());
+        }
+        if (file != null) {
+            long interval = Long.parseLong(System.getProperty("metricsDumpSeconds", "10"));
+            scheduler.scheduleAtFixedRate(this::dump, interval, interval, TimeUnit.SECONDS);
+            LOG.info("📈 Metrics dumped to {} every {} s", file, interval);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = SuiteMetrics.shared().render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(200, head ? -1 : body.length);
+            if (!head) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Replaces the file atomically so a reader never sees a half-written dump.
+     */
+    private void dump() {
+        if (file == null) return;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(temp, SuiteMetrics.shared().render().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live counters of the running suite: test outcomes per browser, throughput, browser
+ * sessions and spawn latency, plus gauges registered by other components (idle
+ * pre-spawned sessions, artifact writer queue). Updates are lock-free so they can sit
+ * on the test and driver paths; {@link #render()} produces Prometheus text format
+ * for {@link MetricsExporter}.
+ */
+public final class SuiteMetrics {
+
+    /**
+     * Final state of a test invocation.
+     */
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED
+    }
+
+    private static final SuiteMetrics SHARED = new SuiteMetrics();
+
+    // seconds; sized for browser start-up, from a warm fake session to a cold profile clone
+    private static final double[] SPAWN_BUCKETS = {0.25, 0.5, 1, 2, 5, 10, 20, 30, 60};
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, LongAdder[]> tests = new ConcurrentSkipListMap<>();
+    private final ConcurrentLinkedQueue<Long> recentCompletions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Map<String, AtomicInteger> activeSessions = new ConcurrentSkipListMap<>();
+    private final Map<String, SpawnLatency> spawnLatency = new ConcurrentSkipListMap<>();
+    private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+
+    private SuiteMetrics() {
+    }
+
+    public static SuiteMetrics shared() {
+        return SHARED;
+    }
+
+    // ==================== TESTS ====================
+
+    public void testStarted() {
+        running.incrementAndGet();
+    }
+
+    /**
+     * @param started false for tests skipped without {@link #testStarted()}, which never counted as running
+     */
+    public void testFinished(String browser, Outcome outcome, boolean started) {
+        if (started) running.decrementAndGet();
+        tests.computeIfAbsent(label(browser), key -> newCounters())[outcome.ordinal()].increment();
+        long now = System.nanoTime();
+        recentCompletions.add(now);
+        trim(now);
+    }
+
+    /**
+     * Tests completed over the last minute (or since start, scaled, during the first minute).
+     */
+    public double getTestsPerMinute() {
+        long now = System.nanoTime();
+        trim(now);
+        long elapsed = Math.min(now - startNanos, WINDOW_NANOS);
+        if (elapsed <= 0) return 0;
+        return recentCompletions.size() * (double) WINDOW_NANOS / elapsed;
+    }
+
+    public long getTestCount(Outcome outcome) {
+        long total = 0;
+        for (LongAdder[] counters : tests.values()) {
+            total += counters[outcome.ordinal()].sum();
+        }
+        return total;
+    }
+
+    // ==================== SESSIONS ====================
+
+    /**
+     * A browser session was handed to a test or load user.
+     */
+    public void sessionActivated(String browser) {
+        activeSessions.computeIfAbsent(label(browser), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void sessionReleased(String browser) {
+        activeSessions.computeIfAbsent(label(browser), key -> new AtomicInteger()).decrementAndGet();
+    }
+
+    public void recordSpawn(String browser, long nanos) {
+        spawnLatency.computeIfAbsent(label(browser), key -> new SpawnLatency()).record(nanos);
+    }
+
+    // ==================== GAUGES ====================
+
+    /**
+     * Registers a gauge read on every scrape.
+     */
+    public void gauge(String name, String help, Supplier<? extends Number> value) {
+        gauges.add(new Gauge(name, help, null, () -> Collections.singletonMap("", value.get())));
+    }
+
+    /**
+     * Registers a gauge with one label, e.g. a count per browser.
+     */
+    public void gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> values) {
+        gauges.add(new Gauge(name, help, labelName, values));
+    }
+
+    // ==================== EXPOSITION ====================
+
+    /**
+     * Current values in Prometheus text exposition format (version 0.0.4).
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(2048);
+
+        header(out, "framework_tests_total", "counter", "Finished test invocations by browser and outcome.");
+        tests.forEach((browser, counters) -> {
+            for (Outcome outcome : Outcome.values()) {
+                out.append("framework_tests_total{browser=\"").append(escape(browser))
+                        .append("\",outcome=\"").append(outcome.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                        .append(counters[outcome.ordinal()].sum()).append('\n');
+            }
+        });
+
+        header(out, "framework_test_pass_ratio", "gauge", "Passed over passed and failed, by browser.");
+        tests.forEach((browser, counters) -> {
+            long passed = counters[Outcome.PASSED.ordinal()].sum();
+            long decided = passed + counters[Outcome.FAILED.ordinal()].sum();
+            if (decided > 0) {
+                sample(out, "framework_test_pass_ratio", "browser", browser, (double) passed / decided);
+            }
+        });
+
+        header(out, "framework_tests_per_minute", "gauge", "Tests completed over the last minute.");
+        sample(out, "framework_tests_per_minute", null, null, getTestsPerMinute());
+
+        header(out, "framework_tests_running", "gauge", "Test invocations currently executing.");
+        sample(out, "framework_tests_running", null, null, running.get());
+
+        header(out, "framework_browser_sessions_active", "gauge", "Browser sessions in use by tests or load users.");
+        activeSessions.forEach((browser, count) ->
+                sample(out, "framework_browser_sessions_active", "browser", browser, count.get()));
+
+        header(out, "framework_browser_spawn_seconds", "histogram", "Time to start a browser session.");
+        spawnLatency.forEach((browser, latency) -> latency.render(out, escape(browser)));
+
+        for (Gauge gauge : gauges) {
+            header(out, gauge.name, "gauge", gauge.help);
+            Map<String, ? extends Number> values = gauge.values.get();
+            values.forEach((label, value) -> sample(out, gauge.name, gauge.labelName, label, value.doubleValue()));
+        }
+
+        header(out, "framework_uptime_seconds", "gauge", "Seconds since the suite started.");
+        sample(out, "framework_uptime_seconds", null, null,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) / 1000.0);
+        return out.toString();
+    }
+
+    private void trim(long now) {
+        Long oldest;
+        while ((oldest = recentCompletions.peek()) != null && now - oldest > WINDOW_NANOS) {
+            recentCompletions.remove(oldest);
+        }
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[Outcome.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private static String label(String browser) {
+        return browser == null || browser.isEmpty() ? "unknown" : browser;
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labelName, String label, double value) {
+        out.append(name);
+        if (labelName != null) {
+            out.append('{').append(labelName).append("=\"").append(escape(label)).append("\"}");
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value)
+                ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Cumulative Prometheus histogram over {@link #SPAWN_BUCKETS}.
+     */
+    private static final class SpawnLatency {
+        private final LongAdder[] buckets = new LongAdder[SPAWN_BUCKETS.length];
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        SpawnLatency() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            double seconds = nanos / 1e9;
+            for (int i = 0; i < SPAWN_BUCKETS.length; i++) {
+                if (seconds <= SPAWN_BUCKETS[i]) {
+                    buckets[i].increment();
+                    break;
+                }
+            }
+            count.increment();
+            sum.add(seconds);
+        }
+
+        void render(StringBuilder out, String browser) {
+            long cumulative = 0;
+            for (int i = 0; i < SPAWN_BUCKETS.length; i++) {
+                cumulative += buckets[i].sum();
+                out.append("framework_browser_spawn_seconds_bucket{browser=\"").append(browser)
+                        .append("\",le=\"").append(SPAWN_BUCKETS[i]).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append("framework_browser_spawn_seconds_bucket{browser=\"").append(browser)
+                    .append("\",le=\"+Inf\"} ").append(count.sum()).append('\n');
+            out.append("framework_browser_spawn_seconds_sum{browser=\"").append(browser).append("\"} ")
+                    .append(sum.sum()).append('\n');
+            out.append("framework_browser_spawn_seconds_count{browser=\"").append(browser).append("\"} ")
+                    .append(count.sum()).append('\n');
+        }
+    }
+
+    private static final class Gauge {
+        private final String name;
+        private final String help;
+        private final String labelName;
+        private final Supplier<Map<String, ? extends Number>> values;
+
+        Gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> values) {
+            this.name = name;
+            this.help = help;
+            this.labelName = labelName;
+            this.values = values;
+        }
+    }
+}
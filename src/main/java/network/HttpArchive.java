@@ -0,0 +1,261 @@
+package network;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HAR-like store of recorded HTTP exchanges.
+ *
+ * Layout (default {@code target/http-archive}, override with {@code -DhttpArchive=dir}):
+ * <pre>
+ * entries/&lt;TestClass&gt;.json   method, url, request body hash, status, headers and body hash per request
+ * blobs/&lt;sha256&gt;             response bodies, stored once no matter how many tests fetched them
+ * </pre>
+ *
+ * Requests with a body (a POST form, say) are told apart by the hash of that body, so
+ * different submissions to the same endpoint each replay their own response.
+ */
+public final class HttpArchive {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpArchive.class);
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "keep-alive"));
+
+    private static volatile HttpArchive shared;
+
+    private final Path entriesDir;
+    private final Path blobsDir;
+    private final Json json = new Json();
+    private final Map<String, Map<String, Entry>> recording = new ConcurrentHashMap<>();
+    private volatile Map<String, Entry> replayIndex;
+
+    private HttpArchive(Path root) {
+        this.entriesDir = root.resolve("entries");
+        this.blobsDir = root.resolve("blobs");
+    }
+
+    public static HttpArchive shared() {
+        if (shared == null) {
+            synchronized (HttpArchive.class) {
+                if (shared == null) {
+                    shared = new HttpArchive(Paths.get(System.getProperty("httpArchive", "target/http-archive")));
+                }
+            }
+        }
+        return shared;
+    }
+
+    // ==================== RECORD ====================
+
+    public void record(String archiveName, String method, String url, byte[] requestBody, int status,
+                       Map<String, String> headers, byte[] body) {
+        String blob = writeBlob(body);
+        String request = requestHash(method, requestBody);
+        Map<String, String> kept = new LinkedHashMap<>();
+        headers.forEach((name, value) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) kept.put(name, value);
+        });
+        recording.computeIfAbsent(archiveName, name -> new ConcurrentHashMap<>())
+                .put(key(method, url, request), new Entry(method, url, request, status, kept, blob));
+    }
+
+    /**
+     * Writes everything recorded under {@code archiveName} during this run.
+     */
+    public void flush(String archiveName) {
+        Map<String, Entry> entries = recording.get(archiveName);
+        if (entries == null || entries.isEmpty()) return;
+
+        List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            rows.add(entry.toMap());
+        }
+        try {
+            Files.createDirectories(entriesDir);
+            Path tmp = Files.createTempFile(entriesDir, archiveName, ".tmp");
+            Files.write(tmp, json.toJson(rows).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, entriesDir.resolve(archiveName + ".json"), StandardCopyOption.REPLACE_EXISTING);
+            LOG.info("📼 Recorded {} HTTP exchanges for {}", rows.size(), archiveName);
+        } catch (IOException e) {
+            LOG.error("❌ Failed to write HTTP archive for {}: {}", archiveName, e.getMessage());
+        }
+    }
+
+    private String writeBlob(byte[] body) {
+        String hash = sha256(body);
+        Path blob = blobsDir.resolve(hash);
+        if (!Files.exists(blob)) {
+            try {
+                Files.createDirectories(blobsDir);
+                Files.write(blob, body, StandardOpenOption.CREATE_NEW);
+            } catch (FileAlreadyExistsException e) {
+                // another thread stored the same content first
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return hash;
+    }
+
+    // ==================== REPLAY ====================
+
+    /**
+     * @return the recorded exchange for the request, or null if it was never recorded
+     */
+    public Entry find(String method, String url, byte[] requestBody) {
+        Entry entry = replayIndex().get(key(method, url, requestHash(method, requestBody)));
+        // archives recorded before request bodies were hashed have one entry per method and url
+        return entry != null ? entry : replayIndex().get(key(method, url, null));
+    }
+
+    public byte[] body(Entry entry) throws IOException {
+        return Files.readAllBytes(blobsDir.resolve(entry.blob));
+    }
+
+    public int size() {
+        return replayIndex().size();
+    }
+
+    private Map<String, Entry> replayIndex() {
+        if (replayIndex == null) {
+            synchronized (this) {
+                if (replayIndex == null) replayIndex = loadIndex();
+            }
+        }
+        return replayIndex;
+    }
+
+    private Map<String, Entry> loadIndex() {
+        Map<String, Entry> index = new ConcurrentHashMap<>();
+        if (!Files.isDirectory(entriesDir)) {
+            LOG.warn("⚠️  No HTTP archive found at {} - run once with -DhttpMode=record", entriesDir);
+            return index;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entriesDir, "*.json")) {
+            for (Path file : files) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    List<Map<String, Object>> rows = json.toType(reader, Json.LIST_OF_MAPS_TYPE);
+                    for (Map<String, Object> row : rows) {
+                        Entry entry = Entry.fromMap(row);
+                        index.put(key(entry.method, entry.url, entry.request), entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("❌ Failed to load HTTP archive: {}", e.getMessage());
+        }
+        LOG.info("📼 Loaded {} recorded HTTP exchanges from {}", index.size(), entriesDir);
+        return index;
+    }
+
+    private static String key(String method, String url, String request) {
+        int fragment = url.indexOf('#');
+        String key = method.toUpperCase(Locale.ROOT) + " " + (fragment >= 0 ? url.substring(0, fragment) : url);
+        return request == null ? key : key + " " + request;
+    }
+
+    /**
+     * Hash of the request body for requests that carry one; null for GET/HEAD and empty bodies.
+     */
+    private static String requestHash(String method, byte[] requestBody) {
+        String upper = method.toUpperCase(Locale.ROOT);
+        if ("GET".equals(upper) || "HEAD".equals(upper) || requestBody == null || requestBody.length == 0) {
+            return null;
+        }
+        return sha256(requestBody);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One recorded request/response pair.
+     */
+    public static final class Entry {
+        private final String method;
+        private final String url;
+        private final String request;
+        private final int status;
+        private final Map<String, String> headers;
+        private final String blob;
+
+        Entry(String method, String url, String request, int status, Map<String, String> headers, String blob) {
+            this.method = method;
+            this.url = url;
+            this.request = request;
+            this.status = status;
+            this.headers = headers;
+            this.blob = blob;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, String> getHeaders() {
+            return Collections.unmodifiableMap(headers);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", method);
+            map.put("url", url);
+            if (request != null) map.put("request", request);
+            map.put("status", status);
+            map.put("headers", headers);
+            map.put("blob", blob);
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Entry fromMap(Map<String, Object> map) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            Object raw = map.get("headers");
+            if (raw instanceof Map) {
+                ((Map<String, Object>) raw).forEach((name, value) -> headers.put(name, String.valueOf(value)));
+            }
+            return new Entry(
+                    (String) map.get("method"),
+                    (String) map.get("url"),
+                    (String) map.get("request"),
+                    ((Number) map.get("status")).intValue(),
+                    headers,
+                    (String) map.get("blob"));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package network;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * How tests talk to the web player, selected with {@code -DhttpMode=live|record|replay}.
+ */
+public enum HttpMode {
+    /** Hit the real site (default). */
+    LIVE,
+    /** Hit the real site and capture every response into the {@link HttpArchive}. */
+    RECORD,
+    /** Serve everything from the {@link HttpArchive}; no network access. */
+    REPLAY;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpMode.class);
+
+    public static HttpMode current() {
+        String mode = System.getProperty("httpMode", "live").trim().toUpperCase(Locale.ROOT);
+        try {
+            return valueOf(mode);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("⚠️  Unknown httpMode '{}', using LIVE", mode);
+            return LIVE;
+        }
+    }
+}
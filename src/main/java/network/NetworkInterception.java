@@ -0,0 +1,152 @@
+package network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies a {@link NetworkPolicy} and the {@link HttpMode} to a browser session.
+ *
+ * Plain blocklists go to the browser via CDP {@code Network.setBlockedURLs}, so
+ * requests are dropped inside Chrome/Edge with no round trip to the test JVM.
+ * Allow-lists, canned responses, recording and replay need a per-request
+ * decision and use Selenium's {@link NetworkInterceptor} (CDP {@code Fetch}).
+ * Browsers without CDP (Firefox) run unfiltered.
+ */
+public final class NetworkInterception implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkInterception.class);
+
+    private final NetworkInterceptor interceptor;
+    private final HttpMode mode;
+    private final String archiveName;
+
+    private NetworkInterception(NetworkInterceptor interceptor, HttpMode mode, String archiveName) {
+        this.interceptor = interceptor;
+        this.mode = mode;
+        this.archiveName = archiveName;
+    }
+
+    /**
+     * @param archiveName name the recorded exchanges are stored under (usually the test class)
+     */
+    public static NetworkInterception install(WebDriver driver, NetworkPolicy policy, HttpMode mode, String archiveName) {
+        boolean nativeBlocklist = !policy.getBlockedPatterns().isEmpty() && policy.isBlocklistOnly()
+                && driver instanceof HasCdp;
+        boolean needsInterceptor = mode != HttpMode.LIVE || (!policy.isEmpty() && !nativeBlocklist);
+
+        try {
+            if (nativeBlocklist) {
+                HasCdp cdp = (HasCdp) driver;
+                Map<String, Object> params = new HashMap<>();
+                params.put("urls", policy.getBlockedPatterns());
+                cdp.executeCdpCommand("Network.enable", Collections.emptyMap());
+                cdp.executeCdpCommand("Network.setBlockedURLs", params);
+                LOG.info("🚫 Blocking {} URL patterns in browser", policy.getBlockedPatterns().size());
+            }
+
+            if (needsInterceptor) {
+                if (driver instanceof HasDevTools) {
+                    Filter filter = modeFilter(mode, archiveName);
+                    if (!nativeBlocklist && !policy.isEmpty()) {
+                        filter = policyFilter(policy).andThen(filter);
+                    }
+                    NetworkInterceptor interceptor = new NetworkInterceptor(driver, filter);
+                    LOG.info("🚫 Network interception enabled (mode: {})", mode);
+                    return new NetworkInterception(interceptor, mode, archiveName);
+                }
+                LOG.warn("⚠️  Network interception not supported for {}, running unfiltered",
+                        driver.getClass().getSimpleName());
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️  Failed to install network interception: {}", e.getMessage());
+        }
+        return new NetworkInterception(null, mode, archiveName);
+    }
+
+    private static Filter policyFilter(NetworkPolicy policy) {
+        return next -> request -> {
+            String url = request.getUri();
+            NetworkPolicy.Stub stub = policy.findStub(url);
+            if (stub != null) {
+                return new HttpResponse()
+                        .setStatus(200)
+                        .setHeader("Content-Type", stub.getContentType())
+                        .setContent(Contents.bytes(stub.getBody()));
+            }
+            if (policy.isBlocked(url)) {
+                return new HttpResponse().setStatus(204);
+            }
+            return next.execute(request);
+        };
+    }
+
+    private static Filter modeFilter(HttpMode mode, String archiveName) {
+        HttpArchive archive = HttpArchive.shared();
+        switch (mode) {
+            case RECORD:
+                return next -> request -> {
+                    // read once here, so put back for the request that goes out
+                    byte[] sent = Contents.bytes(request.getContent());
+                    request.setContent(Contents.bytes(sent));
+                    HttpResponse response = next.execute(request);
+                    byte[] body = Contents.bytes(response.getContent());
+                    response.setContent(Contents.bytes(body));
+                    Map<String, String> headers = new LinkedHashMap<>();
+                    response.forEachHeader(headers::put);
+                    archive.record(archiveName, request.getMethod().toString(), request.getUri(), sent,
+                            response.getStatus(), headers, body);
+                    return response;
+                };
+            case REPLAY:
+                return next -> request -> {
+                    String url = request.getUri();
+                    if (url.startsWith("http://127.0.0.1:") || url.startsWith("http://localhost:")) {
+                        // the ReplayServer answers these itself
+                        return next.execute(request);
+                    }
+                    HttpArchive.Entry entry = archive.find(request.getMethod().toString(), url,
+                            Contents.bytes(request.getContent()));
+                    if (entry == null) {
+                        return new HttpResponse().setStatus(404);
+                    }
+                    try {
+                        HttpResponse response = new HttpResponse().setStatus(entry.getStatus());
+                        entry.getHeaders().forEach(response::addHeader);
+                        return response.setContent(Contents.bytes(archive.body(entry)));
+                    } catch (IOException e) {
+                        return new HttpResponse().setStatus(500);
+                    }
+                };
+            case LIVE:
+            default:
+                return next -> next;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (interceptor != null) {
+            try {
+                interceptor.close();
+            } catch (RuntimeException ignored) {
+                // session is usually already gone at this point
+            }
+        }
+        if (mode == HttpMode.RECORD) {
+            HttpArchive.shared().flush(archiveName);
+        }
+    }
+}
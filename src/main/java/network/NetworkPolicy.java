@@ -0,0 +1,207 @@
+package network;
+
+import env.EnvConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Which requests a browser may make, resolved from {@link EnvConfig}.
+ *
+ * Patterns use {@code *} wildcards (the syntax of CDP {@code Network.setBlockedURLs})
+ * and may reference the groups {@code @ads}, {@code @analytics} and {@code @media}.
+ * Allowed patterns win over blocked ones. Canned responses are read from the
+ * optional classpath file {@code network-stubs-<env>.properties}
+ * ({@code pattern=classpath/resource.json}).
+ */
+public final class NetworkPolicy {
+
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkPolicy.class);
+    private static final Map<String, List<String>> GROUPS = new LinkedHashMap<>();
+
+    static {
+        GROUPS.put("@ads", Arrays.asList(
+                "*doubleclick.net*",
+                "*googlesyndication.com*",
+                "*googleadservices.com*",
+                "*adservice.google.com*",
+                "*adeventtracker.spotify.com*",
+                "*spclient.wg.spotify.com/ads/*"));
+        GROUPS.put("@analytics", Arrays.asList(
+                "*google-analytics.com*",
+                "*googletagmanager.com*",
+                "*analytics.google.com*",
+                "*connect.facebook.net*",
+                "*hotjar.com*",
+                "*sentry.io*",
+                "*/gabo-receiver-service/*"));
+        GROUPS.put("@media", Arrays.asList(
+                "*audio-ak-spotify-com.akamaized.net*",
+                "*audio-fa.scdn.co*",
+                "*audio4-fa.scdn.co*",
+                "*heads-fa.scdn.co*",
+                "*video-fa.scdn.co*"));
+    }
+
+    private final List<String> blocked;
+    private final List<String> allowed;
+    private final List<Pattern> blockedRegex;
+    private final List<Pattern> allowedRegex;
+    private final List<Stub> stubs;
+
+    private NetworkPolicy(List<String> blocked, List<String> allowed, List<Stub> stubs) {
+        this.blocked = Collections.unmodifiableList(blocked);
+        this.allowed = Collections.unmodifiableList(allowed);
+        this.blockedRegex = compile(blocked);
+        this.allowedRegex = compile(allowed);
+        this.stubs = Collections.unmodifiableList(stubs);
+    }
+
+    public static NetworkPolicy forEnvironment(EnvConfig envConfig) {
+        return new NetworkPolicy(
+                expand(envConfig.getBlockedUrlPatterns()),
+                expand(envConfig.getAllowedUrlPatterns()),
+                loadStubs("network-stubs-" + envConfig.getName() + ".properties"));
+    }
+
+    public boolean isEmpty() {
+        return blocked.isEmpty() && stubs.isEmpty();
+    }
+
+    /**
+     * True when every decision can be delegated to the browser's own URL blocklist.
+     */
+    public boolean isBlocklistOnly() {
+        return allowed.isEmpty() && stubs.isEmpty();
+    }
+
+    public List<String> getBlockedPatterns() {
+        return blocked;
+    }
+
+    public boolean isBlocked(String url) {
+        return matchesAny(blockedRegex, url) && !matchesAny(allowedRegex, url);
+    }
+
+    /**
+     * @return the canned response for {@code url}, or null to let it through
+     */
+    public Stub findStub(String url) {
+        for (Stub stub : stubs) {
+            if (stub.pattern.matcher(url).matches()) return stub;
+        }
+        return null;
+    }
+
+    private static List<String> expand(List<String> patterns) {
+        Set<String> expanded = new LinkedHashSet<>();
+        for (String pattern : patterns) {
+            List<String> group = GROUPS.get(pattern.toLowerCase(Locale.ROOT));
+            if (group != null) expanded.addAll(group);
+            else expanded.add(pattern);
+        }
+        return new ArrayList<>(expanded);
+    }
+
+    private static List<Pattern> compile(List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            patterns.add(toRegex(glob));
+        }
+        return patterns;
+    }
+
+    private static Pattern toRegex(String glob) {
+        String[] parts = glob.split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) regex.append(".*");
+            if (!parts[i].isEmpty()) regex.append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) return true;
+        }
+        return false;
+    }
+
+    private static List<Stub> loadStubs(String resource) {
+        List<Stub> stubs = new ArrayList<>();
+        ClassLoader loader = NetworkPolicy.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) return stubs;
+            Properties props = new Properties();
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+            for (String pattern : props.stringPropertyNames()) {
+                String body = props.getProperty(pattern).trim();
+                try (InputStream bodyIn = loader.getResourceAsStream(body)) {
+                    if (bodyIn == null) {
+                        LOG.warn("⚠️  Stub body not found on classpath: {}", body);
+                        continue;
+                    }
+                    stubs.add(new Stub(toRegex(pattern), contentType(body), bodyIn.readAllBytes()));
+                }
+            }
+            LOG.info("🧩 Loaded {} network stubs from {}", stubs.size(), resource);
+        } catch (IOException e) {
+            LOG.warn("⚠️  Failed to load network stubs {}: {}", resource, e.getMessage());
+        }
+        return stubs;
+    }
+
+    private static String contentType(String resource) {
+        String name = resource.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) return "application/json";
+        if (name.endsWith(".js")) return "application/javascript";
+        if (name.endsWith(".css")) return "text/css";
+        if (name.endsWith(".html")) return "text/html";
+        if (name.endsWith(".svg")) return "image/svg+xml";
+        if (name.endsWith(".png")) return "image/png";
+        return "text/plain";
+    }
+
+    /**
+     * A canned 200 response served instead of hitting the network.
+     */
+    public static final class Stub {
+        private final Pattern pattern;
+        private final String contentType;
+        private final byte[] body;
+
+        Stub(Pattern pattern, String contentType, byte[] body) {
+            this.pattern = pattern;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
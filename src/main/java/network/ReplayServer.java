@@ -0,0 +1,120 @@
+package network;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded local stand-in for the web player origin, serving responses from
+ * the {@link HttpArchive}. Started once per JVM in replay mode; point
+ * {@code EnvConfig.getBaseUrl()} at {@link #getBaseUrl()}.
+ *
+ * Only requests to the recorded base origin come through here. Chrome and
+ * Edge also get third-party origins from the archive via
+ * {@link NetworkInterception}; Firefox fetches those live.
+ */
+public final class ReplayServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplayServer.class);
+
+    private static ReplayServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpArchive archive;
+    private final String recordedOrigin;
+    private final String basePath;
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private ReplayServer(HttpArchive archive, URI recordedBaseUrl, int port) throws IOException {
+        this.archive = archive;
+        this.recordedOrigin = recordedBaseUrl.getScheme() + "://" + recordedBaseUrl.getRawAuthority();
+        this.basePath = recordedBaseUrl.getRawPath() == null || recordedBaseUrl.getRawPath().isEmpty()
+                ? "/" : recordedBaseUrl.getRawPath();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts (or returns the already running) replay server for the given recorded base URL.
+     */
+    public static synchronized ReplayServer start(HttpArchive archive, String recordedBaseUrl) {
+        if (shared == null) {
+            try {
+                int port = Integer.parseInt(System.getProperty("replayPort", "0"));
+                shared = new ReplayServer(archive, URI.create(recordedBaseUrl), port);
+                shared.startDaemon();
+                Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "replay-server-stop"));
+                LOG.info("📼 Replay server for {} listening on {} ({} recorded exchanges)",
+                        shared.recordedOrigin, shared.getBaseUrl(), archive.size());
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException("[ReplayServer] Failed to start: " + e.getMessage(), e);
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The HttpServer dispatcher inherits the daemon flag of the thread that starts it;
+     * starting it from a daemon thread keeps it from holding the test JVM open.
+     */
+    private void startDaemon() throws InterruptedException {
+        Thread starter = new Thread(server::start, "replay-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        starter.join();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + basePath;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String url = recordedOrigin + exchange.getRequestURI().toString();
+            HttpArchive.Entry entry = archive.find(exchange.getRequestMethod(), url,
+                    exchange.getRequestBody().readAllBytes());
+            if (entry == null) {
+                misses.incrementAndGet();
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = archive.body(entry);
+            entry.getHeaders().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            boolean noBody = body.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(entry.getStatus(), noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (misses.get() > 0) {
+            LOG.warn("⚠️  Replay server answered {} unrecorded requests with 404", misses.get());
+        }
+    }
+}
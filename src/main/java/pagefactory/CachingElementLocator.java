@@ -0,0 +1,59 @@
+package pagefactory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/**
+ * Element locator that keeps the resolved {@link WebElement} until it is
+ * explicitly invalidated (by {@link StaleAwareElementHandler} on
+ * {@code StaleElementReferenceException}). One instance is shared by every
+ * field declared with the same {@link By}.
+ */
+public class CachingElementLocator implements ElementLocator {
+
+    private final SearchContext searchContext;
+    private final By by;
+    private volatile WebElement cachedElement;
+
+    public CachingElementLocator(SearchContext searchContext, By by) {
+        this.searchContext = searchContext;
+        this.by = by;
+    }
+
+    @Override
+    public WebElement findElement() {
+        WebElement element = cachedElement;
+        if (element == null) {
+            element = searchContext.findElement(by);
+            cachedElement = element;
+        }
+        return element;
+    }
+
+    /**
+     * Lists are not cached: their size changes with the DOM.
+     */
+    @Override
+    public List<WebElement> findElements() {
+        return searchContext.findElements(by);
+    }
+
+    /**
+     * Drops the cached element if it is still the one the caller saw go stale,
+     * so concurrent re-resolutions do not discard a fresh lookup.
+     */
+    public void invalidate(WebElement staleElement) {
+        if (cachedElement == staleElement) {
+            cachedElement = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " '" + by + "'";
+    }
+}
@@ -0,0 +1,149 @@
+package pagefactory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection metadata for a page class, computed once per class: which fields
+ * to decorate, their {@link By}, the page constructor and its wait timeout.
+ * Binding a new instance only allocates proxies and sets fields.
+ */
+public final class PageDescriptor {
+
+    private static final ClassValue<PageDescriptor> DESCRIPTORS = new ClassValue<PageDescriptor>() {
+        @Override
+        protected PageDescriptor computeValue(Class<?> type) {
+            return new PageDescriptor(type);
+        }
+    };
+
+    private final Class<?> pageClass;
+    private final List<ElementField> fields = new ArrayList<>();
+    private final Constructor<?> waitConstructor;
+    private final Constructor<?> driverConstructor;
+    private final Duration timeout;
+
+    private PageDescriptor(Class<?> pageClass) {
+        this.pageClass = pageClass;
+
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) continue;
+                boolean list = isDecoratableList(field);
+                if (!list && !WebElement.class.isAssignableFrom(field.getType())) continue;
+                field.setAccessible(true);
+                fields.add(new ElementField(field, new Annotations(field).buildBy(), list));
+            }
+        }
+
+        this.waitConstructor = constructor(pageClass, WebDriver.class, WebDriverWait.class);
+        this.driverConstructor = constructor(pageClass, WebDriver.class);
+
+        PageTimeout pageTimeout = pageClass.getAnnotation(PageTimeout.class);
+        this.timeout = Duration.ofSeconds(pageTimeout != null ? pageTimeout.seconds() : PageTimeout.DEFAULT_SECONDS);
+    }
+
+    public static PageDescriptor of(Class<?> pageClass) {
+        return DESCRIPTORS.get(pageClass);
+    }
+
+    /**
+     * Injects element proxies into {@code page}. Fields that share a locator share one lookup.
+     */
+    public void bind(Object page, SearchContext searchContext) {
+        Map<By, CachingElementLocator> locators = new HashMap<>();
+        ClassLoader loader = pageClass.getClassLoader();
+
+        for (ElementField element : fields) {
+            CachingElementLocator locator = locators.computeIfAbsent(
+                    element.by, by -> new CachingElementLocator(searchContext, by));
+            Object proxy = element.list
+                    ? Proxy.newProxyInstance(loader, new Class<?>[]{List.class}, new LocatingElementListHandler(locator))
+                    : Proxy.newProxyInstance(loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                            new StaleAwareElementHandler(locator));
+            try {
+                element.field.set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("[PageDescriptor] Cannot set " + element.field, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a page through its (WebDriver, WebDriverWait) or (WebDriver) constructor.
+     * The constructor is expected to call {@link PageElements#initElements}.
+     */
+    public Object newInstance(WebDriver driver) {
+        try {
+            if (waitConstructor != null) {
+                return waitConstructor.newInstance(driver, new WebDriverWait(driver, timeout));
+            }
+            if (driverConstructor != null) {
+                return driverConstructor.newInstance(driver);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("[PageDescriptor] Failed to create " + pageClass.getName(), e);
+        }
+        throw new IllegalStateException("[PageDescriptor] " + pageClass.getName()
+                + " needs a (WebDriver, WebDriverWait) or (WebDriver) constructor");
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    private static boolean isDecoratableList(Field field) {
+        if (!List.class.isAssignableFrom(field.getType())) return false;
+        Type generic = field.getGenericType();
+        if (!(generic instanceof ParameterizedType)) return false;
+        Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+        return WebElement.class.equals(element)
+                && (field.isAnnotationPresent(FindBy.class)
+                || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class));
+    }
+
+    private static Constructor<?> constructor(Class<?> type, Class<?>... parameters) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class ElementField {
+        private final Field field;
+        private final By by;
+        private final boolean list;
+
+        private ElementField(Field field, By by, boolean list) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+        }
+    }
+}
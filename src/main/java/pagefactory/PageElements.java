@@ -0,0 +1,23 @@
+package pagefactory;
+
+import org.openqa.selenium.SearchContext;
+
+/**
+ * Drop-in replacement for {@code PageFactory.initElements(driver, page)}.
+ *
+ * Element fields get proxies that cache the resolved element and re-resolve
+ * only on {@code StaleElementReferenceException}; fields sharing the same
+ * locator share one lookup. {@code List<WebElement>} fields keep Selenium's
+ * default non-caching behaviour. Field analysis is done once per page class
+ * by {@link PageDescriptor}.
+ */
+public final class PageElements {
+
+    private PageElements() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static void initElements(SearchContext searchContext, Object page) {
+        PageDescriptor.of(page.getClass()).bind(page, searchContext);
+    }
+}
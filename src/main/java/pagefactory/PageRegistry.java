@@ -0,0 +1,48 @@
+package pagefactory;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out page objects bound to the driver the current thread is using.
+ * Page classes are analysed once ({@link PageDescriptor}); an instance is
+ * reused for as long as the thread keeps the same driver, and rebuilt cheaply
+ * from the descriptor when the driver changes.
+ */
+public final class PageRegistry {
+
+    private static final ThreadLocal<Map<Class<?>, Binding>> PAGES = ThreadLocal.withInitial(HashMap::new);
+
+    private PageRegistry() {
+        /* utility class - prevent instantiation */
+    }
+
+    public static <T> T get(Class<T> pageClass, WebDriver driver) {
+        Map<Class<?>, Binding> pages = PAGES.get();
+        Binding binding = pages.get(pageClass);
+        if (binding == null || binding.driver != driver) {
+            binding = new Binding(driver, PageDescriptor.of(pageClass).newInstance(driver));
+            pages.put(pageClass, binding);
+        }
+        return pageClass.cast(binding.page);
+    }
+
+    /**
+     * Drops the current thread's pages, e.g. when its driver is quit.
+     */
+    public static void release() {
+        PAGES.remove();
+    }
+
+    private static final class Binding {
+        private final WebDriver driver;
+        private final Object page;
+
+        private Binding(WebDriver driver, Object page) {
+            this.driver = driver;
+            this.page = page;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package pagefactory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Explicit-wait timeout used when {@link PageRegistry} builds the page's
+ * {@code WebDriverWait}. Pages without it get {@link #DEFAULT_SECONDS}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageTimeout {
+    int DEFAULT_SECONDS = 10;
+
+    int seconds();
+}
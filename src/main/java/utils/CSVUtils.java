@@ -3,6 +3,8 @@ package utils;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -12,6 +14,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CSV Utility class for TestNG DataProviders
@@ -22,18 +26,25 @@ import java.util.List;
  */
 public final class CSVUtils {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CSVUtils.class);
+
     private CSVUtils() {
         /* utility class - prevent instantiation */
     }
 
     /**
-     * Base directory for all CSV files
+     * Base directory for all CSV files (override with -DtestResourcesDir)
+     */
+    private static final Path TEST_RESOURCES_DIR = Paths.get(System.getProperty("testResourcesDir",
+            "C:/Users/raxit/IdeaProjects/selenium2/src/test/resources"));
+
+    /**
+     * Parsed resource files, shared by every data provider (and matrix combination) reading them
      */
-    private static final Path TEST_RESOURCES_DIR =
-            Paths.get("C:/Users/raxit/IdeaProjects/selenium2/src/test/resources");
+    private static final Map<String, List<String[]>> RESOURCE_CACHE = new ConcurrentHashMap<>();
 
     /**
-     * Reads a CSV file from the fixed test resources directory
+     * Reads a CSV file from the fixed test resources directory, parsing it once per run
      *
      * @param fileName   CSV file name or subpath (e.g. "login.csv", "data/users.csv")
      * @param skipHeader true to skip first row
@@ -42,6 +53,25 @@ public final class CSVUtils {
     public static List<String[]> readResourceCsv(String fileName, boolean skipHeader) {
 
         Path csvPath = TEST_RESOURCES_DIR.resolve(fileName).normalize();
+        List<String[]> data = RESOURCE_CACHE.computeIfAbsent(csvPath + (skipHeader ? "#skipHeader" : ""), key -> {
+            List<String[]> rows = readCsv(csvPath, skipHeader);
+            LOG.info("[CSVUtils] Loaded {} rows from: {}", rows.size(), csvPath.getFileName());
+            return rows;
+        });
+
+        // callers may modify the list; the rows themselves are shared
+        return new ArrayList<>(data);
+    }
+
+    /**
+     * Reads a CSV file from any location (values trimmed, nulls as empty strings)
+     *
+     * @param csvPath    path of the CSV file
+     * @param skipHeader true to skip first row
+     * @return List of String[] (each array = one row)
+     */
+    public static List<String[]> readCsv(Path csvPath, boolean skipHeader) {
+
         List<String[]> data = new ArrayList<>();
 
         if (!Files.exists(csvPath)) {
@@ -65,9 +95,6 @@ public final class CSVUtils {
                 isFirstRow = false;
             }
 
-            System.out.println("[CSVUtils] Loaded " + data.size() +
-                    " rows from: " + csvPath.getFileName());
-
             return data;
 
         } catch (IOException | CsvValidationException e) {
@@ -96,7 +123,7 @@ public final class CSVUtils {
     /**
      * Trims all values in a row and converts null → empty string
      */
-    private static String[] trimRow(String[] row) {
+    static String[] trimRow(String[] row) {
         if (row == null) return new String[0];
         String[] trimmed = new String[row.length];
         for (int i = 0; i < row.length; i++) {
@@ -0,0 +1,55 @@
+package utils;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * MDC keys stamped on every log line emitted for a test (see log4j2.xml), so output
+ * from parallel runs can be told apart and filtered per test, data row and browser.
+ */
+public final class LogContext {
+
+    public static final String TEST = "test";
+    public static final String ROW = "row";
+    public static final String BROWSER = "browser";
+
+    private LogContext() {
+        /* utility class - prevent instantiation */
+    }
+
+    /**
+     * Binds the current thread's log lines to a test; {@code row} is null for tests without a data provider.
+     */
+    public static void enter(String test, Integer row, String browser) {
+        MDC.put(TEST, test);
+        if (row != null) MDC.put(ROW, String.valueOf(row));
+        else MDC.remove(ROW);
+        if (browser != null) MDC.put(BROWSER, browser);
+        else MDC.remove(BROWSER);
+    }
+
+    public static void clear() {
+        MDC.remove(TEST);
+        MDC.remove(ROW);
+        MDC.remove(BROWSER);
+    }
+
+    /**
+     * Wraps {@code task} so it logs with the submitting thread's context, whichever thread runs it.
+     */
+    public static Runnable propagate(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) return task;
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) MDC.setContextMap(previous);
+                else MDC.clear();
+            }
+        };
+    }
+}
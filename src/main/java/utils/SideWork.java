@@ -0,0 +1,120 @@
+package utils;
+
+import metrics.SuiteMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for blocking housekeeping I/O (artifact writes, Allure history copy)
+ * so listeners hand it off instead of holding up TestNG worker threads.
+ *
+ * On a Java 21+ runtime each task gets its own virtual thread; older runtimes use a
+ * bounded pool of daemon threads ({@code -DsideWorkThreads}, default 4) that runs
+ * tasks on the caller when the queue is full. {@code -DsideWork=sync} runs
+ * everything inline.
+ */
+public final class SideWork {
+
+    /**
+     * Blocking task that may throw, e.g. a file write.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SideWork.class);
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final Set<CompletableFuture<Void>> PENDING = ConcurrentHashMap.newKeySet();
+
+    static {
+        // worker threads are daemons; let queued writes land before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitQuiet(30, TimeUnit.SECONDS), "side-work-drain"));
+        SuiteMetrics.shared().gauge("framework_artifact_writes_pending",
+                "Background artifact writes queued or running.", PENDING::size);
+    }
+
+    private SideWork() {
+        /* utility class - prevent instantiation */
+    }
+
+    /**
+     * Runs {@code task} in the background; failures are logged with {@code label}.
+     */
+    public static CompletableFuture<Void> submit(String label, Task task) {
+        // log lines from the task keep the submitting test's MDC
+        Runnable body = LogContext.propagate(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOG.warn("⚠️  {} failed: {}", label, e.getMessage());
+            }
+        });
+        if (EXECUTOR == null) {
+            body.run();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(body, EXECUTOR);
+        PENDING.add(future);
+        future.whenComplete((ignored, error) -> PENDING.remove(future));
+        return future;
+    }
+
+    /**
+     * Waits until everything submitted so far has finished, or the timeout elapses.
+     *
+     * @return false if work was still running at the deadline
+     */
+    public static boolean awaitQuiet(long timeout, TimeUnit unit) {
+        CompletableFuture<?>[] snapshot = PENDING.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(snapshot).get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            LOG.warn("⚠️  {} background writes still running after {} {}", PENDING.size(), timeout, unit);
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    public static String describe() {
+        if (EXECUTOR == null) return "inline";
+        return EXECUTOR instanceof ThreadPoolExecutor ? "platform threads" : "virtual threads";
+    }
+
+    private static ExecutorService createExecutor() {
+        String mode = System.getProperty("sideWork", "auto");
+        if ("sync".equalsIgnoreCase(mode)) return null;
+
+        // Java 21 API, looked up reflectively so the default Java 11 build still compiles
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // pre-21 runtime (or preview not enabled) - fall back to platform threads
+        }
+
+        int threads = Integer.parseInt(System.getProperty("sideWorkThreads", "4"));
+        AtomicInteger ids = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "side-work-" + ids.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
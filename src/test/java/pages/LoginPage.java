@@ -3,10 +3,12 @@ package pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import pagefactory.PageElements;
+import pagefactory.PageTimeout;
 
+@PageTimeout(seconds = 15)
 public class LoginPage {
     private WebDriver driver;
     private WebDriverWait wait;
@@ -39,7 +41,7 @@ public class LoginPage {
     public LoginPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
-        PageFactory.initElements(driver, this);
+        PageElements.initElements(driver, this);
     }
 
     // Actions
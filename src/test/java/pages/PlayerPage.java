@@ -0,0 +1,85 @@
+package pages;
+
+import locators.Container;
+import locators.LocatorRegistry;
+import locators.Locators;
+import locators.SmartLocator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Logged-in home view of the web player: now-playing panel, dialogs and the AZUL tile.
+ */
+public class PlayerPage {
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private static final SmartLocator HIDE_NOW_PLAYING_BUTTON = SmartLocator.named("home.hideNowPlayingButton")
+            .byAriaLabel("Hide Now Playing view")
+            .byCss("button[aria-label='Hide Now Playing view'] span[class='e-91000-button__icon-wrapper'] svg");
+
+    // The positional XPath is the one checked against the live page; the fallbacks are unverified
+    // guesses, scoped to the dialog so no other Close/Continue on the home view can win (and be cached).
+    private static final SmartLocator CLOSE_OR_CONTINUE_BUTTON = SmartLocator.named("home.closeOrContinueButton")
+            .byXpath("(//div[@role='button'])[15]")
+            .byCss("[role='dialog'] [aria-label='Close']")
+            .byXpath("//*[@role='dialog']//*[normalize-space(text())='Continue']");
+
+    // Precompiled once; XPath is served as CSS wherever Locators finds an exact equivalent
+    private static final By MAIN_VIEW = Locators.css("main");
+    private static final By HOME_HEADER = Locators.css(
+            "div[class='e-91000-text encore-text-title-small l3ePjQ6SwNdQQCnLpywl'] a[draggable='false']");
+    private static final By AZUL_TILE = Locators.xpath("//div[contains(text(),'AZUL')]");
+    private static final By AZUL_PLAY_BUTTON = Locators.xpath(
+            "//button[@aria-label='Play AZUL by Guru Randhawa, Gurjit Gill, Lavish Dhiman']//*[name()='svg']");
+    private static final By NOW_PLAYING = Locators.xpath("(//div[@class='hb8C1VAjyUg0VMxrwpix'])[5]");
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final LocatorRegistry locators;
+    private final Container mainView;
+
+    public PlayerPage(WebDriver driver, WebDriverWait wait, LocatorRegistry locators) {
+        this.driver = driver;
+        this.wait = wait;
+        this.locators = locators;
+        this.mainView = new Container(driver, MAIN_VIEW);
+    }
+
+    // Actions
+    public void hoverHomeHeader() {
+        WebElement homeHeader = wait.until(ExpectedConditions.visibilityOfElementLocated(HOME_HEADER));
+        new Actions(driver).moveToElement(homeHeader).perform();
+    }
+
+    public void hideNowPlaying() {
+        locators.findClickable(driver, HIDE_NOW_PLAYING_BUTTON, TIMEOUT).click();
+    }
+
+    public void closeDialog() {
+        locators.findClickable(driver, CLOSE_OR_CONTINUE_BUTTON, TIMEOUT).click();
+    }
+
+    public void scrollToAzul() {
+        WebElement azulElement = wait.until(mainView.visible(AZUL_TILE));
+        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", azulElement);
+    }
+
+    public void hoverAzul() {
+        new Actions(driver).moveToElement(wait.until(mainView.visible(AZUL_TILE))).perform();
+    }
+
+    public void playAzul() {
+        wait.until(mainView.clickable(AZUL_PLAY_BUTTON)).click();
+    }
+
+    public String nowPlayingText() {
+        return wait.until(ExpectedConditions.visibilityOfElementLocated(NOW_PLAYING)).getText();
+    }
+}
@@ -0,0 +1,201 @@
+package pages;
+
+import locators.Container;
+import locators.Locators;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Search box of the web player and its top result.
+ */
+public class SearchPage {
+
+    // Precompiled once; XPath is served as CSS wherever Locators finds an exact equivalent
+    private static final By MAIN_VIEW = Locators.css("main");
+    private static final By SEARCH_INPUT = Locators.xpath("//input[@placeholder='What do you want to play?']");
+    private static final By TOP_RESULT_TITLE = Locators.xpath(
+            "//div[@class='e-91000-text encore-text-title-medium encore-internal-color-text-base BVqIO7mYwD5fLLh6i1D3']");
+    private static final By TOP_RESULT_PLAY_BUTTON = Locators.css(
+            "button[aria-label='Play'] span[class='e-91000-baseline e-91000-overflow-wrap-anywhere e-91000-button-primary__inner encore-bright-accent-set e-91000-button-icon-only--medium'] span[class='e-91000-button__icon-wrapper'] svg");
+
+    /*
+     * Arms a MutationObserver on the main view: from the first keydown in the search input
+     * (or right away when arguments[2] is true) it notes when nodes are first added and when
+     * the view last changed. Timestamps are performance.now() in the page.
+     */
+    private static final String ARM_PROBE =
+            "var input = arguments[0], root = arguments[1];"
+            + "var probe = {start: arguments[2] ? performance.now() : null, first: null, last: null};"
+            + "if (window.__searchProbe) window.__searchProbe.observer.disconnect();"
+            + "input.addEventListener('keydown', function () {"
+            + "  if (probe.start === null) probe.start = performance.now();"
+            + "}, {once: true});"
+            + "probe.observer = new MutationObserver(function (records) {"
+            + "  if (probe.start === null) return;"
+            + "  var now = performance.now();"
+            + "  for (var i = 0; i < records.length; i++) {"
+            + "    if (probe.first === null && records[i].addedNodes.length > 0) probe.first = now;"
+            + "  }"
+            + "  probe.last = now;"
+            + "});"
+            + "probe.observer.observe(root, {childList: true, subtree: true, characterData: true});"
+            + "window.__searchProbe = probe;"
+            + "return true;";
+
+    /*
+     * Resolves once the view has been quiet for arguments[0] ms after its last change, or
+     * after arguments[1] ms. With arguments[2] true a quiet view only counts once it changed.
+     */
+    private static final String AWAIT_PROBE =
+            "var quiet = arguments[0], timeout = arguments[1], needChange = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + "var probe = window.__searchProbe, began = performance.now();"
+            + "(function check() {"
+            + "  var now = performance.now();"
+            + "  var since = probe.last !== null ? probe.last : (probe.start !== null ? probe.start : began);"
+            + "  var settled = now - since >= quiet && (probe.first !== null || !needChange);"
+            + "  if (settled || now - began >= timeout) {"
+            + "    probe.observer.disconnect();"
+            + "    done({start: probe.start, first: probe.first, last: probe.last, settled: settled});"
+            + "  } else {"
+            + "    setTimeout(check, 25);"
+            + "  }"
+            + "})();";
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final Container mainView;
+
+    public SearchPage(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+        this.mainView = new Container(driver, MAIN_VIEW);
+    }
+
+    // Actions
+    public void search(String query) {
+        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(SEARCH_INPUT));
+        searchInput.click();
+        searchInput.sendKeys(query);
+    }
+
+    public String enteredText() {
+        return driver.findElement(SEARCH_INPUT).getAttribute("value");
+    }
+
+    public void hoverTopResult() {
+        new Actions(driver).moveToElement(wait.until(mainView.visible(TOP_RESULT_TITLE))).perform();
+    }
+
+    public void playTopResult() {
+        wait.until(mainView.clickable(TOP_RESULT_PLAY_BUTTON)).click();
+    }
+
+    public String topResultTitle() {
+        return wait.until(mainView.visible(TOP_RESULT_TITLE)).getText();
+    }
+
+    // Timing
+
+    /**
+     * Types {@code query} into an empty search box and times, from the first keystroke,
+     * the first node added to the main view and the point after which it stayed unchanged
+     * for {@code quiet}. Drivers that cannot run page scripts are timed from WebDriver's
+     * side instead, until the top result is visible (both metrics alike).
+     *
+     * @return the timing; a metric that was not reached within {@code timeout} is null
+     */
+    public SearchTiming timeSearch(String query, Duration quiet, Duration timeout) {
+        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(SEARCH_INPUT));
+        WebElement root = driver.findElement(MAIN_VIEW);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        if (!Boolean.TRUE.equals(js.executeScript(ARM_PROBE, searchInput, root, false))) {
+            return timeFromDriver(searchInput, query, timeout);
+        }
+        searchInput.click();
+        searchInput.sendKeys(query);
+        Map<?, ?> probe = awaitProbe(quiet, timeout, true);
+        Number start = (Number) probe.get("start");
+        Number first = (Number) probe.get("first");
+        Number last = (Number) probe.get("last");
+        if (start == null || first == null) {
+            return new SearchTiming(null, null);
+        }
+        Double stable = Boolean.TRUE.equals(probe.get("settled")) ? last.doubleValue() - start.doubleValue() : null;
+        return new SearchTiming(first.doubleValue() - start.doubleValue(), stable);
+    }
+
+    /**
+     * Empties the search box and waits for the main view to settle, so the next
+     * {@link #timeSearch} starts from a quiet page.
+     */
+    public void clearSearch(Duration quiet, Duration timeout) {
+        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(SEARCH_INPUT));
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        boolean armed = Boolean.TRUE.equals(js.executeScript(ARM_PROBE, searchInput, driver.findElement(MAIN_VIEW), true));
+        searchInput.clear();
+        String value = searchInput.getAttribute("value");
+        if (value != null && !value.isEmpty()) {
+            // controlled inputs may restore the value clear() removed; delete it as a user would
+            searchInput.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.BACK_SPACE);
+        }
+        if (armed) {
+            awaitProbe(quiet, timeout, false);
+        } else {
+            new WebDriverWait(driver, timeout).until(ExpectedConditions.invisibilityOfElementLocated(TOP_RESULT_TITLE));
+        }
+    }
+
+    private Map<?, ?> awaitProbe(Duration quiet, Duration timeout, boolean needChange) {
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                AWAIT_PROBE, quiet.toMillis(), timeout.toMillis(), needChange);
+        if (!(result instanceof Map)) {
+            throw new IllegalStateException("[SearchPage] Search probe returned " + result);
+        }
+        return (Map<?, ?>) result;
+    }
+
+    private SearchTiming timeFromDriver(WebElement searchInput, String query, Duration timeout) {
+        searchInput.click();
+        long started = System.nanoTime();
+        searchInput.sendKeys(query);
+        try {
+            new WebDriverWait(driver, timeout, Duration.ofMillis(10)).until(mainView.visible(TOP_RESULT_TITLE));
+        } catch (TimeoutException e) {
+            return new SearchTiming(null, null);
+        }
+        double millis = (System.nanoTime() - started) / 1_000_000.0;
+        return new SearchTiming(millis, millis);
+    }
+
+    /**
+     * Milliseconds from the first keystroke to the first suggestion and to stable results.
+     */
+    public static final class SearchTiming {
+        private final Double firstSuggestionMillis;
+        private final Double stableMillis;
+
+        SearchTiming(Double firstSuggestionMillis, Double stableMillis) {
+            this.firstSuggestionMillis = firstSuggestionMillis;
+            this.stableMillis = stableMillis;
+        }
+
+        public Double getFirstSuggestionMillis() {
+            return firstSuggestionMillis;
+        }
+
+        public Double getStableMillis() {
+            return stableMillis;
+        }
+    }
+}
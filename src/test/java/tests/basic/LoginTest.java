@@ -1,11 +1,14 @@
 package tests.basic;
 
 import base.BaseTest;
+import locators.LocatorRegistry;
+import locators.SmartLocator;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.*;
 import utils.CSVUtils;
@@ -17,21 +20,25 @@ import java.time.Duration;
  */
 public class LoginTest extends BaseTest {
 
-    // Locators
-    private static final By SIGN_IN_BUTTON = By.cssSelector(
-            "span.e-91000-baseline.e-91000-overflow-wrap-anywhere.e-91000-button-primary__inner.encore-inverted-light-set.e-91000-button--medium"
-    );
+    private static final Logger LOG = LoggerFactory.getLogger(LoginTest.class);
 
-    private static final By LOGIN_BUTTON = By.cssSelector(
-            ".e-91132-baseline.e-91132-overflow-wrap-anywhere.e-91132-button-primary__inner.encore-bright-accent-set.e-91132-button--medium"
-    );
+    // Locators (ranked: stable attributes first, hashed build classes last)
+    private static final SmartLocator SIGN_IN_BUTTON = SmartLocator.named("home.signInButton")
+            .byTestId("login-button")
+            .byCss("span.e-91000-baseline.e-91000-overflow-wrap-anywhere.e-91000-button-primary__inner.encore-inverted-light-set.e-91000-button--medium");
 
-    private static final By DASHBOARD_HEADER = By.cssSelector(
-            "section[aria-label='Recommended for you'] div[class='Areas__HeaderArea-sc-8gfrea-3 TJKQw']"
-    );
+    private static final SmartLocator LOGIN_BUTTON = SmartLocator.named("login.submitButton")
+            .byTestId("login-button")
+            .byCss("#login-button")
+            .byCss(".e-91132-baseline.e-91132-overflow-wrap-anywhere.e-91132-button-primary__inner.encore-bright-accent-set.e-91132-button--medium");
+
+    private static final SmartLocator DASHBOARD_HEADER = SmartLocator.named("home.recommendedHeader")
+            .byCss("section[aria-label='Recommended for you'] div[class='Areas__HeaderArea-sc-8gfrea-3 TJKQw']")
+            .byCss("section[aria-label='Recommended for you'] h2");
 
     private WebDriver driver;
     private WebDriverWait wait;
+    private LocatorRegistry locators;
 
     @BeforeMethod(alwaysRun = true)
     public void setUp() {
@@ -39,16 +46,17 @@ public class LoginTest extends BaseTest {
         initDriver();
         driver = getDriver();
         wait = new WebDriverWait(driver, Duration.ofSeconds(3));
+        locators = getLocatorRegistry();
 
         // Navigate to base URL
         driver.get(getEnvConfig().getBaseUrl());
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        // Quit driver after each test to ensure clean session
-        if (driver != null)
-            driver.quit();
+        // Quit driver after each test to ensure clean session, even when the test failed
+        quitDriver();
+        driver = null;
     }
 
     @DataProvider(name = "login-data")
@@ -59,11 +67,11 @@ public class LoginTest extends BaseTest {
 
     @Test(dataProvider = "login-data")
     public void loginTest(String username, String password) {
-        System.out.println("🔑 Testing login for Spotify with username: " + username);
-        System.out.println("🔑 Testing login for Spotify with password: " + password);
+        LOG.info("🔑 Testing login for Spotify with username: {}", username);
+        LOG.info("🔑 Testing login for Spotify with password: {}", password);
 
         // Step 1: Click sign-in button
-        WebElement signInButton = wait.until(ExpectedConditions.elementToBeClickable(SIGN_IN_BUTTON));
+        WebElement signInButton = locators.findClickable(driver, SIGN_IN_BUTTON, Duration.ofSeconds(3));
         Assert.assertTrue(signInButton.isDisplayed(), "Sign-in button should be visible");
         signInButton.click();
 
@@ -74,7 +82,7 @@ public class LoginTest extends BaseTest {
 
         // Allow blank username, just log it
         if (username.trim().isEmpty()) {
-            System.out.println("⚠️ Username field is empty");
+            LOG.warn("⚠️ Username field is empty");
         } else {
             // Extra assertion: username must contain both alphabets and numbers
             boolean hasAlphabet = username.matches(".*[a-zA-Z].*");
@@ -97,12 +105,12 @@ public class LoginTest extends BaseTest {
                 .stream().findFirst().map(e -> e.getText().trim()).orElse(null);
 
         if (bannerText != null) {
-            System.out.println("✅ Server issue detected: " + bannerText);
+            LOG.info("✅ Server issue detected: {}", bannerText);
             return; // Test passes if banner is shown
         }
 
         if (helpText != null) {
-            System.out.println("✅ Login failed (invalid username): " + helpText);
+            LOG.info("✅ Login failed (invalid username): {}", helpText);
             return; // Test passes if help text is shown
         }
 
@@ -118,7 +126,7 @@ public class LoginTest extends BaseTest {
 
         // Allow blank password, just log it
         if (password.trim().isEmpty()) {
-            System.out.println("⚠️ Password field is empty");
+            LOG.warn("⚠️ Password field is empty");
         } else {
             // Password policy checks
             boolean invalidLength = password.length() < 8 || password.length() > 16;
@@ -132,13 +140,13 @@ public class LoginTest extends BaseTest {
                         passwordError != null && passwordError.toLowerCase().contains("password"),
                         "Password error message should be shown for invalid password policy"
                 );
-                System.out.println("✅ Password invalid (policy violation): " + passwordError);
+                LOG.info("✅ Password invalid (policy violation): {}", passwordError);
                 return;
             }
         }
 
         // Step 7: Click login
-        WebElement loginButton = wait.until(ExpectedConditions.elementToBeClickable(LOGIN_BUTTON));
+        WebElement loginButton = locators.findClickable(driver, LOGIN_BUTTON, Duration.ofSeconds(3));
         Assert.assertTrue(loginButton.isDisplayed(), "Login button should be visible");
         loginButton.click();
 
@@ -157,22 +165,22 @@ public class LoginTest extends BaseTest {
                 (passwordErrorElement != null && passwordErrorElement.isDisplayed()) ||
                 (bannerErrorElement != null && bannerErrorElement.isDisplayed())) {
 
-            System.out.println("✅ Field error detected:");
+            LOG.info("✅ Field error detected:");
             if (usernameErrorElement != null && usernameErrorElement.isDisplayed()) {
-                System.out.println("   Username error: " + usernameErrorElement.getText().trim());
+                LOG.info("   Username error: {}", usernameErrorElement.getText().trim());
             }
             if (passwordErrorElement != null && passwordErrorElement.isDisplayed()) {
-                System.out.println("   Password error: " + passwordErrorElement.getText().trim());
+                LOG.info("   Password error: {}", passwordErrorElement.getText().trim());
             }
             if (bannerErrorElement != null && bannerErrorElement.isDisplayed()) {
-                System.out.println("   Banner error: " + bannerErrorElement.getText().trim());
+                LOG.info("   Banner error: {}", bannerErrorElement.getText().trim());
             }
             return; // Test passes if any of these errors are shown
         }
 
         // Step 10: Verify dashboard loaded after successful login
-        WebElement dashboardHeader = wait.until(ExpectedConditions.visibilityOfElementLocated(DASHBOARD_HEADER));
+        WebElement dashboardHeader = locators.findVisible(driver, DASHBOARD_HEADER, Duration.ofSeconds(3));
         Assert.assertTrue(dashboardHeader.isDisplayed(), "Dashboard header should be visible after login");
-        System.out.println("🎉 Login successful, dashboard loaded! Header: " + dashboardHeader.getText());
+        LOG.info("🎉 Login successful, dashboard loaded! Header: {}", dashboardHeader.getText());
     }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package tests.basic;
 
 import base.BaseTest;
+import diagnostics.PlaybackSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pages.LoginPage;
+import pages.SearchPage;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
-import org.openqa.selenium.interactions.Actions;
 import java.time.Duration;
 import listeners.TestListener;  // ← Add this import
 import org.testng.annotations.Listeners;  // ← Add this import
@@ -18,20 +21,24 @@ import org.testng.annotations.Test;
 })
 public class search_fun extends BaseTest {
 
+    private static final Logger LOG = LoggerFactory.getLogger(search_fun.class);
+
     private WebDriver driver;
     private WebDriverWait wait;
     private LoginPage loginPage;
+    private SearchPage searchPage;
 
     @BeforeMethod(alwaysRun = true)
     public void setUp() {
         initDriver(); // This method comes from BaseTest
         driver = getDriver();
         wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        loginPage = new LoginPage(driver, wait);
+        loginPage = page(LoginPage.class);
+        searchPage = new SearchPage(driver, wait);
 
 
         driver.get(getEnvConfig().getBaseUrl()); // e.g. https://open.spotify.com
-        System.out.println("[Checking search song functionality] Opened Spotify: " + getEnvConfig().getBaseUrl());
+        LOG.info("[Checking search song functionality] Opened Spotify: {}", getEnvConfig().getBaseUrl());
     }
 
     @Test(groups = {"regression"}, priority = 1)
@@ -49,49 +56,41 @@ public class search_fun extends BaseTest {
 
 
         // 6. Search input field
-        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//input[@placeholder='What do you want to play?']")));
-        searchInput.click();
-
-// 7. Enter search text and pause for 3 seconds
+// 7. Enter search text (the hover below waits for the top result)
         String songQuery = "mickey singh rani";
-        searchInput.sendKeys(songQuery);
-        Thread.sleep(3000);
+        searchPage.search(songQuery);
 
 // 8. Dynamically print whatever is inside the search input
-        String enteredText = searchInput.getAttribute("value");
-        System.out.println("[Inside search box] Entered search text : " + enteredText);
+        String enteredText = searchPage.enteredText();
+        LOG.info("[Inside search box] Entered search text : {}", enteredText);
 
 
 
         // 8a. Scroll down to the track element before clicking Play
-        WebElement trackElement = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//div[@class='e-91000-text encore-text-title-medium encore-internal-color-text-base BVqIO7mYwD5fLLh6i1D3']")));
         //((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", trackElement);
         //Thread.sleep(1000); // small pause to ensure scroll completes
 
 // 8b. Hover on the track element
-        Actions actions = new Actions(driver);
-        actions.moveToElement(trackElement).perform();
+        searchPage.hoverTopResult();
         Thread.sleep(100); // pause to visually confirm hover
 
 
 
         // 9. Click Play button for the specific track
-        WebElement playButton = wait.until(ExpectedConditions.elementToBeClickable(
-                By.cssSelector("button[aria-label='Play'] span[class='e-91000-baseline e-91000-overflow-wrap-anywhere e-91000-button-primary__inner encore-bright-accent-set e-91000-button-icon-only--medium'] span[class='e-91000-button__icon-wrapper'] svg")));
-        playButton.click();
+        PlaybackSampler sampler = PlaybackSampler.arm(driver);
+        searchPage.playTopResult();
 
         // 10. Print the now playing track text
-        WebElement nowPlayingText = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//div[@class='e-91000-text encore-text-title-medium encore-internal-color-text-base BVqIO7mYwD5fLLh6i1D3']")));
-        System.out.println(" Now playing on track: " + nowPlayingText.getText());
+        LOG.info(" Now playing on track: {}", searchPage.topResultTitle());
 
-        // 11. Wait for 30 seconds while the song plays
-        Thread.sleep(50000);
+        // 11. Let the song play until enough of it has actually played (-DplaybackSeconds)
+        verifyPlayback(sampler);
 
-        // 12. Quit driver
-        driver.quit();
+    }
 
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        // 12. Quit driver, also when a step above failed
+        quitDriver();
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package tests.load;
+
+import base.BaseTest;
+import io.qameta.allure.Allure;
+import load.LoadProfile;
+import load.LoadReport;
+import load.LoadRunner;
+import load.LoadSession;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.LoginPage;
+import pages.PlayerPage;
+import pages.SearchPage;
+
+import java.nio.file.Paths;
+
+/**
+ * Load/soak run of the web player flows (run with {@code mvn test -Pload}).
+ * Scenarios reuse the page objects of the functional tests; see {@link LoadProfile}
+ * for the knobs. Fails when the error rate exceeds {@code -DloadMaxErrorRate}.
+ */
+public class PlayerLoadTest extends BaseTest {
+
+    private static final String USERNAME = "banefo8720@bialode.com";
+    private static final String PASSWORD = "Password@12";
+
+    @Test(groups = {"load"})
+    public void playerLoad() {
+        LoadProfile profile = LoadProfile.current();
+        LoadReport report = new LoadRunner(envConfig, getBrowserName(), profile)
+                .scenario("login", 1, this::login)
+                .scenario("play", 2, this::play)
+                .scenario("search", 2, this::search)
+                .run();
+
+        report.write(Paths.get("target", "load", "player-load.txt"));
+        Allure.addAttachment("Load report", "text/plain", report.toString(), ".txt");
+
+        Assert.assertTrue(report.getIterations() > 0, "Load run should complete at least one iteration");
+        Assert.assertTrue(report.getErrorRate() <= profile.getMaxErrorRate(),
+                "Error rate " + report.getErrorRate() + " exceeds " + profile.getMaxErrorRate());
+    }
+
+    /**
+     * Logs in from scratch; a session still logged in from an earlier iteration is logged out first.
+     */
+    private void login(LoadSession session) throws Exception {
+        if (session.isLoggedIn()) session.step("logout", session::clearState);
+        session.step("open", session::open);
+        LoginPage loginPage = session.page(LoginPage.class);
+        session.step("signIn", loginPage::clickSignIn);
+        session.step("username", () -> {
+            loginPage.enterUsername(USERNAME);
+            loginPage.clickContinueAfterUsername();
+        });
+        session.step("password", () -> {
+            loginPage.clickPasswordContinue();
+            loginPage.enterPassword(PASSWORD);
+        });
+        session.step("submit", loginPage::clickFinalLogin);
+        session.setLoggedIn(true);
+    }
+
+    /**
+     * Logs in on the session's first iteration only; later ones start from the home page.
+     */
+    private void home(LoadSession session) throws Exception {
+        if (session.isLoggedIn()) session.step("open", session::open);
+        else login(session);
+    }
+
+    private void play(LoadSession session) throws Exception {
+        home(session);
+        PlayerPage playerPage = new PlayerPage(session.getDriver(), session.getWait(),
+                getLocatorRegistry());
+        session.step("homeHeader", playerPage::hoverHomeHeader);
+        session.step("closeDialog", () -> {
+            playerPage.hideNowPlaying();
+            playerPage.closeDialog();
+        });
+        session.step("playAzul", () -> {
+            playerPage.scrollToAzul();
+            playerPage.playAzul();
+        });
+        session.step("nowPlaying", playerPage::nowPlayingText);
+    }
+
+    private void search(LoadSession session) throws Exception {
+        home(session);
+        SearchPage searchPage = new SearchPage(session.getDriver(), session.getWait());
+        session.step("search", () -> searchPage.search("mickey singh rani"));
+        session.step("topResult", searchPage::topResultTitle);
+        session.step("playTopResult", searchPage::playTopResult);
+    }
+}
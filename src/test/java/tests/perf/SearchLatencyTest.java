@@ -0,0 +1,100 @@
+package tests.perf;
+
+import base.BaseTest;
+import io.qameta.allure.Allure;
+import load.LatencyBenchmark;
+import load.LatencyHistogram;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import pages.SearchPage;
+import pages.SearchPage.SearchTiming;
+import utils.CSVUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search responsiveness benchmark (run with {@code mvn test -Pperf}). Every term of
+ * {@code search_terms.csv} is searched {@code -DsearchSamples} times (default 5, after
+ * {@code -DsearchWarmup} unrecorded searches, default 1) in one browser session, timing
+ * from the first keystroke to the first suggestion and to results that stay unchanged for
+ * {@code -DsearchQuietMillis} (default 500). Distributions per environment, browser and
+ * term go to {@code target/benchmarks/search-latency.txt} and the Allure report.
+ */
+public class SearchLatencyTest extends BaseTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchLatencyTest.class);
+
+    private static final int SAMPLES = Integer.getInteger("searchSamples", 5);
+    private static final int WARMUP = Integer.getInteger("searchWarmup", 1);
+    private static final Duration QUIET = Duration.ofMillis(Long.getLong("searchQuietMillis", 500));
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("searchTimeoutSeconds", 10));
+
+    private static final LatencyBenchmark BENCHMARK = LatencyBenchmark.named("search");
+    private static final Path REPORT = Paths.get("target", "benchmarks", "search-latency.txt");
+
+    private SearchPage searchPage;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        initDriver();
+        searchPage = new SearchPage(driver, new WebDriverWait(driver, Duration.ofSeconds(15)));
+        openBaseUrl();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() {
+        BENCHMARK.write(REPORT);
+        Allure.addAttachment("Search latency", "text/plain", BENCHMARK.toString(), ".txt");
+    }
+
+    @DataProvider(name = "search-terms")
+    public Object[][] searchTerms() {
+        return CSVUtils.readResourceCsvToDataProvider("search_terms.csv", true);
+    }
+
+    @Test(groups = {"perf"}, dataProvider = "search-terms")
+    public void searchLatency(String term) {
+        String browser = getBrowserName() + (envConfig.isHeadless() ? " headless" : "");
+        String series = envConfig.getName() + "/" + browser + "/" + term;
+        for (int i = 0; i < WARMUP; i++) {
+            searchPage.clearSearch(QUIET, TIMEOUT);
+            searchPage.timeSearch(term, QUIET, TIMEOUT);
+        }
+
+        int answered = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            searchPage.clearSearch(QUIET, TIMEOUT);
+            SearchTiming timing = searchPage.timeSearch(term, QUIET, TIMEOUT);
+            record(series, "firstSuggestion", timing.getFirstSuggestionMillis());
+            record(series, "stableResults", timing.getStableMillis());
+            if (timing.getFirstSuggestionMillis() != null) answered++;
+        }
+
+        LOG.info("⏱️  '{}' on {}: first suggestion p50 {} ms, stable results p50 {} ms ({}/{} answered)", term,
+                browser, p50(series, "firstSuggestion"), p50(series, "stableResults"), answered, SAMPLES);
+        Assert.assertTrue(answered > 0, "No suggestion for '" + term + "' within " + TIMEOUT.getSeconds()
+                + " s in any of " + SAMPLES + " searches");
+    }
+
+    private static void record(String series, String metric, Double millis) {
+        if (millis == null) {
+            BENCHMARK.recordTimeout(series, metric);
+        } else {
+            BENCHMARK.record(series, metric, Math.round(millis * 1000), TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private static long p50(String series, String metric) {
+        LatencyHistogram histogram = BENCHMARK.getHistogram(series, metric);
+        return histogram == null ? 0 : Math.round(histogram.getPercentileMillis(50));
+    }
+}